@@ -0,0 +1,157 @@
+// Stress test for ConcurrentProductCatalog with mixed readers and writers
+// Checks snapshot consistency while running and the final contents afterwards
+// Run: java ConcurrentCatalogStressTest [readers] [writers] [seconds]
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentCatalogStressTest {
+
+    private static final int INITIAL_PRODUCTS = 100_000;
+    private static final int IDS_PER_WRITER = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        System.out.printf("=== CATALOG STRESS TEST: %d readers, %d writers, %d s ===\n",
+                          readers, writers, seconds);
+
+        ConcurrentProductCatalog catalog = new ConcurrentProductCatalog();
+        Product[] initial = ProductSearchBenchmark.generateProducts(INITIAL_PRODUCTS, 42);
+        catalog.putAll(initial);
+        catalog.mergeNow();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong scans = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(readers + writers);
+        List<Future<?>> readerResults = new ArrayList<>();
+        List<Future<Map<Integer, Product>>> writerResults = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            final int seed = r;
+            readerResults.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                while (running.get()) {
+                    if (random.nextInt(1000) == 0) {
+                        checkSnapshot(catalog.snapshot());
+                        scans.incrementAndGet();
+                    } else {
+                        catalog.findByName(initial[random.nextInt(initial.length)].getProductName());
+                        count++;
+                    }
+                }
+                reads.addAndGet(count);
+                return null;
+            }));
+        }
+
+        for (int w = 0; w < writers; w++) {
+            // Each writer owns its own id range, so it can keep an exact model of it
+            final int firstId = INITIAL_PRODUCTS + w * IDS_PER_WRITER;
+            final int seed = 100 + w;
+            writerResults.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                Map<Integer, Product> model = new HashMap<>();
+                long count = 0;
+                while (running.get()) {
+                    int id = firstId + random.nextInt(IDS_PER_WRITER);
+                    Product existing = model.get(id);
+                    int operation = random.nextInt(4);
+                    if (existing == null || operation == 0) {
+                        Product product = new Product(id, "item " + id, "Stress", random.nextInt(1000));
+                        catalog.put(product);
+                        model.put(id, product);
+                    } else if (operation == 1) {
+                        catalog.remove(id);
+                        model.remove(id);
+                    } else if (operation == 2) {
+                        String name = "renamed " + random.nextInt(1000) + " " + id;
+                        catalog.rename(id, name);
+                        model.put(id, new Product(id, name, existing.getCategory(), existing.getPrice()));
+                    } else {
+                        double price = random.nextInt(100_000) / 100.0;
+                        catalog.updatePrice(id, price);
+                        model.put(id, new Product(id, existing.getProductName(), existing.getCategory(), price));
+                    }
+                    count++;
+                }
+                writes.addAndGet(count);
+                return model;
+            }));
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+
+        for (Future<?> result : readerResults) {
+            result.get(); // Rethrows any consistency failure
+        }
+        Map<Integer, Product> expected = new HashMap<>();
+        for (Product product : initial) {
+            expected.put(product.getProductId(), product);
+        }
+        for (Future<Map<Integer, Product>> result : writerResults) {
+            expected.putAll(result.get());
+        }
+        executor.shutdown();
+
+        catalog.mergeNow();
+        checkFinalContents(catalog, expected);
+        catalog.close();
+
+        System.out.printf("Reads:  %,d (%,.0f ops/s)\n", reads.get(), reads.get() / (double) seconds);
+        System.out.printf("Writes: %,d (%,.0f ops/s)\n", writes.get(), writes.get() / (double) seconds);
+        System.out.printf("Snapshot scans checked: %,d\n", scans.get());
+        System.out.println("Stress test passed!");
+    }
+
+    // A snapshot must iterate in name order and match its own size
+    private static void checkSnapshot(ConcurrentProductCatalog.Snapshot snapshot) {
+        int count = 0;
+        String previous = null;
+        for (Product product : snapshot) {
+            String name = ProductIndex.fold(product.getProductName());
+            if (previous != null && previous.compareTo(name) > 0) {
+                throw new IllegalStateException("Snapshot out of order at " + name);
+            }
+            previous = name;
+            count++;
+        }
+        if (count != snapshot.size()) {
+            throw new IllegalStateException("Snapshot has " + count + " products, size says " + snapshot.size());
+        }
+    }
+
+    private static void checkFinalContents(ConcurrentProductCatalog catalog, Map<Integer, Product> expected) {
+        Map<Integer, Product> actual = new HashMap<>();
+        for (Product product : catalog.snapshot()) {
+            if (actual.put(product.getProductId(), product) != null) {
+                throw new IllegalStateException("Duplicate id " + product.getProductId());
+            }
+        }
+        if (actual.size() != expected.size()) {
+            throw new IllegalStateException("Expected " + expected.size() + " products, found " + actual.size());
+        }
+        for (Product product : expected.values()) {
+            Product stored = actual.get(product.getProductId());
+            if (stored == null
+                    || !stored.getProductName().equals(product.getProductName())
+                    || stored.getPrice() != product.getPrice()) {
+                throw new IllegalStateException("Wrong final state for " + product);
+            }
+        }
+    }
+}
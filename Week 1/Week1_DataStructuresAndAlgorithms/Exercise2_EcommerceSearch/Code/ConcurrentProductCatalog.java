@@ -0,0 +1,394 @@
+// Product catalog that writers can update while readers keep searching
+// Readers work on an immutable snapshot: a sorted base array plus a small sorted delta.
+// Writers copy the delta, apply their change and publish a new snapshot; a background
+// task folds the delta into a new base once it grows past a threshold.
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentProductCatalog implements AutoCloseable {
+
+    private static final int DEFAULT_MERGE_THRESHOLD = 1024;
+
+    // Current snapshot - replaced, never modified
+    private volatile Snapshot current = new Snapshot(new NameKey[0], new Product[0], Collections.emptyNavigableMap(), 0);
+
+    // Writer-side state, only touched while holding writeLock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Integer, Product> byId = new HashMap<>();
+
+    // One merge at a time, so each merge rebases against the base it started from
+    private final ReentrantLock mergeLock = new ReentrantLock();
+
+    private final int mergeThreshold;
+    private final ExecutorService merger;
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+
+    public ConcurrentProductCatalog() {
+        this(DEFAULT_MERGE_THRESHOLD);
+    }
+
+    public ConcurrentProductCatalog(int mergeThreshold) {
+        this.mergeThreshold = mergeThreshold;
+        this.merger = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ---- Readers: lock-free, always see one consistent snapshot ----
+
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public Product findByName(String name) {
+        return current.findByName(name);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    // ---- Writers ----
+
+    // Insert a product, or replace the one with the same id
+    // The catalog keeps its own copy, so later changes to the argument have no effect
+    public void put(Product product) {
+        Product copy = new Product(product.getProductId(), product.getProductName(),
+                                   product.getCategory(), product.getPrice());
+        writeLock.lock();
+        try {
+            Product previous = byId.put(copy.getProductId(), copy);
+            NavigableMap<NameKey, Change> delta = copyDelta();
+            if (previous != null) {
+                delta.put(NameKey.of(previous), new Change(null));
+            }
+            delta.put(NameKey.of(copy), new Change(copy));
+            publish(delta, previous == null ? 1 : 0);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Insert many products with a single published change
+    public void putAll(Product[] products) {
+        writeLock.lock();
+        try {
+            NavigableMap<NameKey, Change> delta = copyDelta();
+            int added = 0;
+            for (Product product : products) {
+                Product copy = new Product(product.getProductId(), product.getProductName(),
+                                           product.getCategory(), product.getPrice());
+                Product previous = byId.put(copy.getProductId(), copy);
+                if (previous != null) {
+                    delta.put(NameKey.of(previous), new Change(null));
+                } else {
+                    added++;
+                }
+                delta.put(NameKey.of(copy), new Change(copy));
+            }
+            publish(delta, added);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Remove a product by id; returns false if it was not present
+    public boolean remove(int productId) {
+        writeLock.lock();
+        try {
+            Product previous = byId.remove(productId);
+            if (previous == null) {
+                return false;
+            }
+            NavigableMap<NameKey, Change> delta = copyDelta();
+            delta.put(NameKey.of(previous), new Change(null));
+            publish(delta, -1);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean rename(int productId, String newName) {
+        writeLock.lock();
+        try {
+            Product previous = byId.get(productId);
+            if (previous == null) {
+                return false;
+            }
+            put(new Product(productId, newName, previous.getCategory(), previous.getPrice()));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Products are shared with readers, so a price change publishes a new copy
+    // rather than calling setPrice on the stored instance
+    public boolean updatePrice(int productId, double price) {
+        writeLock.lock();
+        try {
+            Product previous = byId.get(productId);
+            if (previous == null) {
+                return false;
+            }
+            put(new Product(productId, previous.getProductName(), previous.getCategory(), price));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Fold the delta into the base now, on the calling thread
+    public void mergeNow() {
+        merge();
+    }
+
+    @Override
+    public void close() {
+        merger.shutdown();
+    }
+
+    private NavigableMap<NameKey, Change> copyDelta() {
+        return new TreeMap<>(current.delta);
+    }
+
+    private void publish(NavigableMap<NameKey, Change> delta, int sizeChange) {
+        Snapshot snapshot = current;
+        current = new Snapshot(snapshot.baseKeys, snapshot.baseProducts,
+                               Collections.unmodifiableNavigableMap(delta), snapshot.size + sizeChange);
+
+        if (delta.size() >= mergeThreshold && mergeScheduled.compareAndSet(false, true)) {
+            merger.execute(() -> {
+                try {
+                    merge();
+                } finally {
+                    mergeScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // Build the new base without holding the lock, then swap it in and keep
+    // only the delta entries written after the merge started
+    private void merge() {
+        mergeLock.lock();
+        try {
+            mergeSnapshot(current);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    private void mergeSnapshot(Snapshot start) {
+        if (start.delta.isEmpty()) {
+            return;
+        }
+
+        int capacity = start.baseKeys.length + start.delta.size();
+        NameKey[] keys = new NameKey[capacity];
+        Product[] products = new Product[capacity];
+        int n = 0;
+
+        int b = 0;
+        Iterator<Map.Entry<NameKey, Change>> changes = start.delta.entrySet().iterator();
+        Map.Entry<NameKey, Change> change = changes.hasNext() ? changes.next() : null;
+        while (b < start.baseKeys.length || change != null) {
+            int order = change == null ? -1
+                      : b == start.baseKeys.length ? 1
+                      : start.baseKeys[b].compareTo(change.getKey());
+            if (order < 0) {
+                keys[n] = start.baseKeys[b];
+                products[n++] = start.baseProducts[b++];
+            } else {
+                if (order == 0) {
+                    b++; // Delta entry overrides the base entry
+                }
+                if (change.getValue().product != null) {
+                    keys[n] = change.getKey();
+                    products[n++] = change.getValue().product;
+                }
+                change = changes.hasNext() ? changes.next() : null;
+            }
+        }
+        NameKey[] mergedKeys = Arrays.copyOf(keys, n);
+        Product[] mergedProducts = Arrays.copyOf(products, n);
+
+        writeLock.lock();
+        try {
+            Snapshot latest = current;
+            NavigableMap<NameKey, Change> remaining = new TreeMap<>();
+            for (Map.Entry<NameKey, Change> entry : latest.delta.entrySet()) {
+                // Every write creates a new Change, so identity tells merged entries apart
+                if (start.delta.get(entry.getKey()) != entry.getValue()) {
+                    remaining.put(entry.getKey(), entry.getValue());
+                }
+            }
+            current = new Snapshot(mergedKeys, mergedProducts,
+                                   Collections.unmodifiableNavigableMap(remaining), latest.size);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Immutable, sorted view of the catalog at one point in time
+    public static final class Snapshot implements Iterable<Product> {
+        private final NameKey[] baseKeys;
+        private final Product[] baseProducts;
+        private final NavigableMap<NameKey, Change> delta;
+        private final int size;
+
+        private Snapshot(NameKey[] baseKeys, Product[] baseProducts,
+                         NavigableMap<NameKey, Change> delta, int size) {
+            this.baseKeys = baseKeys;
+            this.baseProducts = baseProducts;
+            this.delta = delta;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // First product (lowest id) with this name, case-insensitive
+        public Product findByName(String name) {
+            String folded = ProductIndex.fold(name);
+            NameKey low = new NameKey(folded, Integer.MIN_VALUE);
+            NameKey high = new NameKey(folded, Integer.MAX_VALUE);
+
+            Iterator<Product> matches = new MergingIterator(this, low, high);
+            return matches.hasNext() ? matches.next() : null;
+        }
+
+        // Products in case-folded name order
+        @Override
+        public Iterator<Product> iterator() {
+            return new MergingIterator(this, null, null);
+        }
+
+        private int lowerBound(NameKey key) {
+            int low = 0, high = baseKeys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (baseKeys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    // Walks base and delta together, letting delta entries override the base
+    private static final class MergingIterator implements Iterator<Product> {
+        private final Snapshot snapshot;
+        private final NameKey high;
+        private final Iterator<Map.Entry<NameKey, Change>> changes;
+        private Map.Entry<NameKey, Change> change;
+        private int b;
+        private Product next;
+
+        MergingIterator(Snapshot snapshot, NameKey low, NameKey high) {
+            this.snapshot = snapshot;
+            this.high = high;
+            NavigableMap<NameKey, Change> range = low == null ? snapshot.delta
+                                                : snapshot.delta.subMap(low, true, high, true);
+            this.changes = range.entrySet().iterator();
+            this.change = changes.hasNext() ? changes.next() : null;
+            this.b = low == null ? 0 : snapshot.lowerBound(low);
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null) {
+                boolean baseLeft = b < snapshot.baseKeys.length
+                                && (high == null || snapshot.baseKeys[b].compareTo(high) <= 0);
+                if (!baseLeft && change == null) {
+                    return;
+                }
+                int order = change == null ? -1 : !baseLeft ? 1 : snapshot.baseKeys[b].compareTo(change.getKey());
+                if (order < 0) {
+                    next = snapshot.baseProducts[b++];
+                } else {
+                    if (order == 0) {
+                        b++;
+                    }
+                    next = change.getValue().product; // null for a deletion
+                    change = changes.hasNext() ? changes.next() : null;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Product next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Product result = next;
+            advance();
+            return result;
+        }
+    }
+
+    // Sort key: case-folded name, then id so equal names stay distinct
+    private static final class NameKey implements Comparable<NameKey> {
+        private final String name;
+        private final int id;
+
+        NameKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        static NameKey of(Product product) {
+            return new NameKey(ProductIndex.fold(product.getProductName()), product.getProductId());
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            int comparison = name.compareTo(other.name);
+            return comparison != 0 ? comparison : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof NameKey)) return false;
+            NameKey key = (NameKey) obj;
+            return id == key.id && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + id;
+        }
+    }
+
+    // One pending write; product is null for a deletion
+    private static final class Change {
+        private final Product product;
+
+        Change(Product product) {
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+// Typo-tolerant name lookup over a sorted name dictionary
+// Walks the sorted names as an implicit trie, running one Levenshtein row per character.
+// Rows are shared by names with a common prefix, and a prefix whose best row value is
+// already over the edit limit is skipped in one jump together with every name under it.
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+public class FuzzyNameMatcher {
+
+    // Distinct case-folded names in sorted order
+    private final String[] names;
+
+    // Products for names[i] are positions[starts[i] .. starts[i + 1]]
+    private final int[] starts;
+    private final int[] positions;
+    private final int longestName;
+
+    // foldedNames[p] is the case-folded name of catalog position p
+    FuzzyNameMatcher(String[] foldedNames) {
+        Integer[] order = new Integer[foldedNames.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> foldedNames[a].compareTo(foldedNames[b]));
+
+        String[] distinct = new String[foldedNames.length];
+        int[] groupStarts = new int[foldedNames.length + 1];
+        positions = new int[foldedNames.length];
+        int count = 0, longest = 0;
+
+        for (int i = 0; i < order.length; i++) {
+            String name = foldedNames[order[i]];
+            if (count == 0 || !distinct[count - 1].equals(name)) {
+                distinct[count] = name;
+                groupStarts[count] = i;
+                count++;
+                longest = Math.max(longest, name.length());
+            }
+            positions[i] = order[i];
+        }
+        groupStarts[count] = order.length;
+
+        names = Arrays.copyOf(distinct, count);
+        starts = Arrays.copyOf(groupStarts, count + 1);
+        longestName = longest;
+    }
+
+    // Up to limit catalog positions whose name is within maxEdits of the query,
+    // closest first, ties in name order
+    public int[] search(String foldedQuery, int maxEdits, int limit) {
+        if (maxEdits < 0 || limit <= 0) {
+            throw new IllegalArgumentException("maxEdits must be >= 0 and limit > 0");
+        }
+
+        int q = foldedQuery.length();
+        // rows[d] is the Levenshtein row after consuming d characters of a name
+        int[][] rows = new int[longestName + 1][q + 1];
+        for (int j = 0; j <= q; j++) {
+            rows[0][j] = j;
+        }
+
+        // Max-heap of (distance, name index) packed into a long, keeps the best `limit`
+        PriorityQueue<Long> best = new PriorityQueue<>((a, b) -> Long.compare(b, a));
+        int heldPositions = 0;
+
+        String previous = "";
+        int validDepth = 0; // Rows 0..validDepth are correct for `previous`
+        int i = 0;
+
+        while (i < names.length) {
+            String name = names[i];
+            int depth = Math.min(validDepth, commonPrefix(previous, name));
+            boolean pruned = false;
+
+            while (depth < name.length()) {
+                int[] above = rows[depth];
+                int[] row = rows[depth + 1];
+                char c = name.charAt(depth);
+                row[0] = above[0] + 1;
+                int rowMin = row[0];
+                for (int j = 1; j <= q; j++) {
+                    int cost = foldedQuery.charAt(j - 1) == c ? 0 : 1;
+                    row[j] = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+                    rowMin = Math.min(rowMin, row[j]);
+                }
+                depth++;
+
+                if (rowMin > maxEdits) {
+                    // No extension of this prefix can come back under the limit
+                    i = endOfPrefix(i, name, depth);
+                    pruned = true;
+                    break;
+                }
+            }
+
+            previous = name;
+            validDepth = depth;
+            if (pruned) {
+                continue;
+            }
+
+            int distance = rows[name.length()][q];
+            if (distance <= maxEdits) {
+                best.add(((long) distance << 32) | i);
+                heldPositions += starts[i + 1] - starts[i];
+                // Drop the worst name once the rest already cover the limit
+                while (!best.isEmpty()) {
+                    int worst = (int) (long) best.peek();
+                    int worstCount = starts[worst + 1] - starts[worst];
+                    if (heldPositions - worstCount < limit) {
+                        break;
+                    }
+                    best.poll();
+                    heldPositions -= worstCount;
+                }
+            }
+            i++;
+        }
+
+        long[] ranked = new long[best.size()];
+        for (int r = 0; r < ranked.length; r++) {
+            ranked[r] = best.poll();
+        }
+        Arrays.sort(ranked);
+
+        int[] result = new int[Math.min(limit, heldPositions)];
+        int n = 0;
+        for (long entry : ranked) {
+            int nameIndex = (int) entry;
+            for (int p = starts[nameIndex]; p < starts[nameIndex + 1] && n < result.length; p++) {
+                result[n++] = positions[p];
+            }
+        }
+        return result;
+    }
+
+    public int distinctNames() {
+        return names.length;
+    }
+
+    // Index just past the run of names sharing name[0..length), starting from `from`
+    private int endOfPrefix(int from, String name, int length) {
+        String prefix = name.substring(0, length);
+        int low = from + 1, high = names.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (names[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    // Plain dynamic-programming edit distance, used as the baseline
+    static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
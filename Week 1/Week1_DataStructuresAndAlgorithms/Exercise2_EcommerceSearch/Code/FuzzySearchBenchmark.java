@@ -0,0 +1,81 @@
+// Latency of fuzzy name search: sorted-dictionary matcher vs edit distance on every row
+// Run: java -Xmx8g FuzzySearchBenchmark [rows]   (defaults to 5M rows)
+import java.util.Arrays;
+import java.util.Random;
+
+public class FuzzySearchBenchmark {
+
+    private static final int QUERIES = 500;
+    private static final int NAIVE_QUERIES = 5;
+    private static final int LIMIT = 10;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 5_000_000;
+        Product[] products = ProductSearchBenchmark.generateProducts(rows, 42);
+        ProductIndex index = ProductIndex.build(products);
+
+        Random random = new Random(11);
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = addTypo(products[random.nextInt(rows)].getProductName(), random);
+        }
+
+        long start = System.nanoTime();
+        index.findFuzzy("warm up", 1, LIMIT);
+        System.out.printf("=== FUZZY SEARCH, %,d PRODUCTS ===\n", rows);
+        System.out.printf("Dictionary build: %,d ms\n\n", (System.nanoTime() - start) / 1_000_000);
+
+        for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+            // Warm-up pass, then the measured pass
+            for (String query : queries) {
+                index.findFuzzy(query, maxEdits, LIMIT);
+            }
+            long[] latencies = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                long begin = System.nanoTime();
+                index.findFuzzy(queries[i], maxEdits, LIMIT);
+                latencies[i] = System.nanoTime() - begin;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("Matcher, %d edit(s): p50 %,d us, p99 %,d us\n", maxEdits,
+                              latencies[QUERIES / 2] / 1_000, latencies[QUERIES * 99 / 100] / 1_000);
+
+            long naive = 0;
+            for (int i = 0; i < NAIVE_QUERIES; i++) {
+                long begin = System.nanoTime();
+                int naiveMatches = naiveSearch(products, queries[i], maxEdits);
+                naive += System.nanoTime() - begin;
+
+                int matcherMatches = index.findFuzzy(queries[i], maxEdits, Integer.MAX_VALUE).length;
+                if (naiveMatches != matcherMatches) {
+                    System.out.printf("Mismatch for '%s': naive %d, matcher %d\n",
+                                      queries[i], naiveMatches, matcherMatches);
+                }
+            }
+            System.out.printf("Naive,   %d edit(s): mean %,d us\n\n", maxEdits, naive / NAIVE_QUERIES / 1_000);
+        }
+    }
+
+    // Edit distance against every name
+    private static int naiveSearch(Product[] products, String query, int maxEdits) {
+        String folded = ProductIndex.fold(query);
+        int matches = 0;
+        for (Product product : products) {
+            if (FuzzyNameMatcher.editDistance(ProductIndex.fold(product.getProductName()), folded) <= maxEdits) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Replace, drop or insert one character
+    private static String addTypo(String name, Random random) {
+        int at = random.nextInt(name.length());
+        char letter = (char) ('a' + random.nextInt(26));
+        switch (random.nextInt(3)) {
+            case 0: return name.substring(0, at) + letter + name.substring(at + 1);
+            case 1: return name.substring(0, at) + name.substring(at + 1);
+            default: return name.substring(0, at) + letter + name.substring(at);
+        }
+    }
+}
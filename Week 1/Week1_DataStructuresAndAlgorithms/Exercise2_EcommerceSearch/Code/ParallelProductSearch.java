@@ -0,0 +1,161 @@
+// Parallel searches over large product arrays
+// Runs in its own ForkJoinPool so callers control how many cores a search may use
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ParallelProductSearch implements AutoCloseable {
+
+    // Splits land on multiples of this many elements, so each task walks whole blocks
+    static final int BLOCK_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    public ParallelProductSearch(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // First product with a matching name, in array order
+    public Product findByName(Product[] products, String targetName) {
+        return run(() -> stream(products)
+            .filter(p -> p.getProductName().equalsIgnoreCase(targetName))
+            .findFirst()
+            .orElse(null));
+    }
+
+    public Product[] filterByCategory(Product[] products, String category) {
+        return run(() -> stream(products)
+            .filter(p -> p.getCategory().equalsIgnoreCase(category))
+            .toArray(Product[]::new));
+    }
+
+    // Products priced within [minPrice, maxPrice]
+    public Product[] filterByPriceRange(Product[] products, double minPrice, double maxPrice) {
+        return run(() -> stream(products)
+            .filter(p -> p.getPrice() >= minPrice && p.getPrice() <= maxPrice)
+            .toArray(Product[]::new));
+    }
+
+    // Count, sum, min and max price per category
+    public Map<String, CategoryStats> statsByCategory(Product[] products) {
+        return run(() -> stream(products).collect(
+            HashMap::new,
+            (stats, p) -> stats.computeIfAbsent(p.getCategory(), k -> new CategoryStats()).add(p.getPrice()),
+            (left, right) -> right.forEach((k, v) -> left.merge(k, v, CategoryStats::merge))
+        ));
+    }
+
+    private static Stream<Product> stream(Product[] products) {
+        return StreamSupport.stream(new BlockSpliterator(products, 0, products.length), true);
+    }
+
+    // Parallel streams started from inside a pool use that pool instead of the common one
+    private <T> T run(Supplier<T> task) {
+        return pool.submit(task::get).join();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Aggregated prices for one category
+    public static final class CategoryStats {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double price) {
+            count++;
+            sum += price;
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+        }
+
+        CategoryStats merge(CategoryStats other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        public long getCount() { return count; }
+        public double getSum() { return sum; }
+        public double getMin() { return min; }
+        public double getMax() { return max; }
+        public double getAverage() { return count == 0 ? 0.0 : sum / count; }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, sum=%.2f, min=%.2f, max=%.2f", count, sum, min, max);
+        }
+    }
+
+    // Array spliterator that only splits on BLOCK_SIZE boundaries
+    static final class BlockSpliterator implements Spliterator<Product> {
+        private final Product[] products;
+        private int index;
+        private final int end;
+
+        BlockSpliterator(Product[] products, int from, int to) {
+            this.products = products;
+            this.index = from;
+            this.end = to;
+        }
+
+        @Override
+        public Spliterator<Product> trySplit() {
+            int remaining = end - index;
+            if (remaining < 2 * BLOCK_SIZE) {
+                return null;
+            }
+            // Round the midpoint down to a block boundary
+            int middle = (index + remaining / 2) / BLOCK_SIZE * BLOCK_SIZE;
+            if (middle <= index) {
+                return null;
+            }
+            BlockSpliterator prefix = new BlockSpliterator(products, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Product> action) {
+            if (index < end) {
+                action.accept(products[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Product> action) {
+            Product[] array = products;
+            for (int i = index; i < end; i++) {
+                action.accept(array[i]);
+            }
+            index = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
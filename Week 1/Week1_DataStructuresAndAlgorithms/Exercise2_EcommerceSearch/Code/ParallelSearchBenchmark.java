@@ -0,0 +1,53 @@
+// Scalability of ParallelProductSearch from 1 to 64 threads
+// Run: java -Xmx8g ParallelSearchBenchmark [rows]   (defaults to 10M rows)
+import java.util.Map;
+
+public class ParallelSearchBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 10_000_000;
+        Product[] products = ProductSearchBenchmark.generateProducts(rows, 42);
+        String missing = "no such product";
+
+        System.out.printf("=== PARALLEL SEARCH, %,d PRODUCTS, %d CORES AVAILABLE ===\n",
+                          rows, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %12s %12s %12s %12s %9s\n",
+                          "Threads", "Name (ms)", "Category", "Price", "Group by", "Speedup");
+
+        double baseline = 0;
+        for (int threads : THREADS) {
+            try (ParallelProductSearch search = new ParallelProductSearch(threads)) {
+                // Warm up so the JIT has compiled the lambdas
+                for (int i = 0; i < 3; i++) {
+                    search.findByName(products, missing);
+                    search.statsByCategory(products);
+                }
+
+                double name = millis(() -> search.findByName(products, missing));
+                double category = millis(() -> search.filterByCategory(products, "Books"));
+                double price = millis(() -> search.filterByPriceRange(products, 100.0, 200.0));
+                double grouped = millis(() -> {
+                    Map<String, ParallelProductSearch.CategoryStats> stats = search.statsByCategory(products);
+                    if (stats.isEmpty()) {
+                        throw new IllegalStateException("No categories");
+                    }
+                });
+
+                double total = name + category + price + grouped;
+                if (threads == 1) {
+                    baseline = total;
+                }
+                System.out.printf("%-8d %12.1f %12.1f %12.1f %12.1f %8.2fx\n",
+                                  threads, name, category, price, grouped, baseline / total);
+            }
+        }
+    }
+
+    private static double millis(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
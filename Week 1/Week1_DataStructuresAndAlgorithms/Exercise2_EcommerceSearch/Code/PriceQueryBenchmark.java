@@ -0,0 +1,67 @@
+// PriceQueryEngine against stream filtering for range and top-N queries
+// Run: java -Xmx8g PriceQueryBenchmark [rows]   (defaults to 1M rows)
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class PriceQueryBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+        Product[] products = ProductSearchBenchmark.generateProducts(rows, 42);
+
+        long start = System.nanoTime();
+        PriceQueryEngine engine = PriceQueryEngine.build(products);
+        System.out.printf("=== PRICE QUERIES, %,d PRODUCTS ===\n", rows);
+        System.out.printf("Engine build: %,d ms\n\n", (System.nanoTime() - start) / 1_000_000);
+
+        // Same answers from both paths before timing anything
+        int streamCount = (int) Arrays.stream(products)
+            .filter(p -> p.getCategory().equalsIgnoreCase("Books"))
+            .filter(p -> p.getPrice() >= 100.0 && p.getPrice() <= 200.0)
+            .count();
+        if (streamCount != engine.countInRange("Books", 100.0, 200.0)) {
+            throw new IllegalStateException("Range count mismatch");
+        }
+
+        report("Range count",
+            time(() -> Arrays.stream(products)
+                .filter(p -> p.getCategory().equalsIgnoreCase("Books"))
+                .filter(p -> p.getPrice() >= 100.0 && p.getPrice() <= 200.0)
+                .count()),
+            time(() -> engine.countInRange("Books", 100.0, 200.0)));
+
+        report("Range page (50)",
+            time(() -> Arrays.stream(products)
+                .filter(p -> p.getPrice() >= 100.0 && p.getPrice() <= 200.0)
+                .sorted(Comparator.comparingDouble(Product::getPrice))
+                .limit(50)
+                .toArray(Product[]::new)),
+            time(() -> engine.listInRange(null, 100.0, 200.0, PriceQueryEngine.Page.FIRST, 50)));
+
+        report("Cheapest 50",
+            time(() -> Arrays.stream(products)
+                .filter(p -> p.getCategory().equalsIgnoreCase("Toys"))
+                .sorted(Comparator.comparingDouble(Product::getPrice))
+                .limit(50)
+                .toArray(Product[]::new)),
+            time(() -> engine.cheapest("Toys", 50)));
+    }
+
+    private static long time(Runnable query) {
+        for (int i = 0; i < ROUNDS; i++) {
+            query.run(); // Warm up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private static void report(String label, long streamNanos, long engineNanos) {
+        System.out.printf("%-16s stream %,12d ns   engine %,9d ns   (%.0fx)\n",
+                          label + ":", streamNanos, engineNanos, (double) streamNanos / Math.max(1, engineNanos));
+    }
+}
@@ -0,0 +1,185 @@
+// Price-range and top-N queries over a product catalog
+// Keeps every category (and the whole catalog) as a price-sorted double[] with a
+// matching position permutation, so range bounds are two binary searches
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PriceQueryEngine {
+
+    // Snapshot of the catalog - prices are read once at build time,
+    // so rebuild the engine after calling setPrice on any product
+    private final Product[] products;
+
+    private final PriceColumn all;
+    private final Map<String, PriceColumn> byCategory;
+
+    private PriceQueryEngine(Product[] products) {
+        this.products = products.clone();
+
+        Map<String, ProductIndex.IntList> groups = new HashMap<>();
+        int[] everything = new int[products.length];
+        for (int i = 0; i < products.length; i++) {
+            everything[i] = i;
+            groups.computeIfAbsent(ProductIndex.fold(this.products[i].getCategory()),
+                                   k -> new ProductIndex.IntList()).add(i);
+        }
+
+        all = new PriceColumn(this.products, everything);
+        byCategory = new HashMap<>(groups.size() * 2);
+        for (Map.Entry<String, ProductIndex.IntList> group : groups.entrySet()) {
+            byCategory.put(group.getKey(), new PriceColumn(this.products, group.getValue().toArray()));
+        }
+    }
+
+    public static PriceQueryEngine build(Product[] products) {
+        return new PriceQueryEngine(products);
+    }
+
+    // Number of products priced within [minPrice, maxPrice]; category may be null for all
+    public int countInRange(String category, double minPrice, double maxPrice) {
+        PriceColumn column = column(category);
+        return Math.max(0, column.upperBound(maxPrice) - column.lowerBound(minPrice));
+    }
+
+    // One page of products priced within [minPrice, maxPrice], cheapest first
+    // Pass Page.FIRST as the cursor, then each page's nextCursor until it is Page.END
+    // (passing Page.END returns an empty page)
+    public Page listInRange(String category, double minPrice, double maxPrice, long cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (cursor == Page.END) {
+            return new Page(new Product[0], Page.END);
+        }
+        if (cursor < 0 && cursor != Page.FIRST) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        PriceColumn column = column(category);
+        int from = column.lowerBound(minPrice);
+        int to = column.upperBound(maxPrice);
+        if (cursor != Page.FIRST) {
+            from = Math.max(from, (int) cursor);
+        }
+
+        int end = (int) Math.min(to, (long) from + pageSize);
+        Product[] items = column.slice(from, Math.max(from, end), false);
+        return new Page(items, end < to ? end : Page.END);
+    }
+
+    // The n cheapest products; category may be null for all
+    public Product[] cheapest(String category, int n) {
+        requireNonNegative(n);
+        PriceColumn column = column(category);
+        return column.slice(0, Math.min(n, column.size()), false);
+    }
+
+    // The n most expensive products, most expensive first
+    public Product[] mostExpensive(String category, int n) {
+        requireNonNegative(n);
+        PriceColumn column = column(category);
+        return column.slice(Math.max(0, column.size() - n), column.size(), true);
+    }
+
+    private static void requireNonNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n cannot be negative: " + n);
+        }
+    }
+
+    private PriceColumn column(String category) {
+        if (category == null) {
+            return all;
+        }
+        return byCategory.getOrDefault(ProductIndex.fold(category), PriceColumn.EMPTY);
+    }
+
+    // One page of query results
+    public static final class Page {
+        public static final long FIRST = -1;
+        public static final long END = -2;
+
+        private final Product[] items;
+        private final long nextCursor;
+
+        Page(Product[] items, long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public Product[] getItems() { return items; }
+        public long getNextCursor() { return nextCursor; }
+        public boolean hasMore() { return nextCursor != END; }
+    }
+
+    // Price-sorted positions for one group of products
+    private static final class PriceColumn {
+        static final PriceColumn EMPTY = new PriceColumn(new Product[0], new int[0]);
+
+        private final Product[] products;
+        private final double[] prices;
+        private final int[] positions;
+
+        PriceColumn(Product[] products, int[] members) {
+            this.products = products;
+            double[] raw = new double[members.length];
+            Integer[] order = new Integer[members.length];
+            for (int i = 0; i < members.length; i++) {
+                raw[i] = products[members[i]].getPrice();
+                order[i] = i;
+            }
+            // Equal prices keep catalog order, so pages are stable
+            Arrays.sort(order, (a, b) -> {
+                int comparison = Double.compare(raw[a], raw[b]);
+                return comparison != 0 ? comparison : Integer.compare(members[a], members[b]);
+            });
+
+            prices = new double[members.length];
+            positions = new int[members.length];
+            for (int i = 0; i < members.length; i++) {
+                prices[i] = raw[order[i]];
+                positions[i] = members[order[i]];
+            }
+        }
+
+        int size() {
+            return prices.length;
+        }
+
+        // First index with price >= value
+        int lowerBound(double value) {
+            int low = 0, high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // First index with price > value
+        int upperBound(double value) {
+            int low = 0, high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Product[] slice(int from, int to, boolean descending) {
+            Product[] result = new Product[to - from];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = products[positions[descending ? to - 1 - i : from + i]];
+            }
+            return result;
+        }
+    }
+}
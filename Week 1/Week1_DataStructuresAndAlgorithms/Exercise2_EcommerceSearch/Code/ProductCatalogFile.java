@@ -0,0 +1,251 @@
+// Binary on-disk product catalog, opened with a memory map
+// Lookups read the mapped bytes directly - nothing is deserialized on load
+//
+// Layout (little-endian, every section starts on an 8-byte boundary):
+//   header       magic, version, row count, category count, section offsets
+//   ids          int[rows]
+//   prices       double[rows]
+//   categories   short[rows] - codes into the category dictionary
+//   nameOffsets  int[rows + 1] - UTF-8 names in the name heap
+//   keyOffsets   int[rows + 1] - case-folded UTF-8 names in the key heap
+//   sortedRows   int[rows] - rows ordered by case-folded name
+//   dictOffsets  int[categories + 1] - category names in the dictionary heap
+//   nameHeap, keyHeap, dictHeap
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ProductCatalogFile {
+
+    static final int MAGIC = 0x54414350; // "PCAT"
+    static final int VERSION = 1;
+
+    // Header fields
+    private static final int SECTION_COUNT = 11;
+    private static final int HEADER_SIZE = 16 + 8 * SECTION_COUNT;
+
+    // Section order in the header
+    private static final int IDS = 0, PRICES = 1, CATEGORIES = 2, NAME_OFFSETS = 3,
+        KEY_OFFSETS = 4, SORTED_ROWS = 5, DICT_OFFSETS = 6, NAME_HEAP = 7, KEY_HEAP = 8,
+        DICT_HEAP = 9, END = 10;
+
+    private final MappedByteBuffer buffer;
+    private final int rows;
+    private final int categoryCount;
+    private final int[] sections = new int[SECTION_COUNT];
+
+    private ProductCatalogFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a product catalog file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog version: " + version);
+        }
+        rows = buffer.getInt(8);
+        categoryCount = buffer.getInt(12);
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            sections[i] = (int) buffer.getLong(16 + 8 * i);
+        }
+        if (sections[END] != buffer.capacity()) {
+            throw new IllegalArgumentException("Catalog file is truncated");
+        }
+    }
+
+    // Map a catalog file read-only
+    // A single mapping is limited to 2 GB
+    public static ProductCatalogFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new ProductCatalogFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Write products in catalog format, replacing any existing file
+    public static void write(Product[] products, Path file) throws IOException {
+        int rows = products.length;
+
+        Map<String, Short> dictionary = new LinkedHashMap<>();
+        short[] codes = new short[rows];
+        byte[][] names = new byte[rows][];
+        byte[][] keys = new byte[rows][];
+        long nameHeapSize = 0, keyHeapSize = 0;
+
+        for (int i = 0; i < rows; i++) {
+            String category = products[i].getCategory();
+            Short code = dictionary.get(category);
+            if (code == null) {
+                if (dictionary.size() > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many categories for a short code");
+                }
+                code = (short) dictionary.size();
+                dictionary.put(category, code);
+            }
+            codes[i] = code;
+            names[i] = products[i].getProductName().getBytes(StandardCharsets.UTF_8);
+            keys[i] = ProductIndex.fold(products[i].getProductName()).getBytes(StandardCharsets.UTF_8);
+            nameHeapSize += names[i].length;
+            keyHeapSize += keys[i].length;
+        }
+
+        // Prebuilt name index so readers never sort
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer row) -> keys[row], Arrays::compareUnsigned));
+
+        byte[][] categoryBytes = new byte[dictionary.size()][];
+        long dictHeapSize = 0;
+        int c = 0;
+        for (String category : dictionary.keySet()) {
+            categoryBytes[c] = category.getBytes(StandardCharsets.UTF_8);
+            dictHeapSize += categoryBytes[c++].length;
+        }
+
+        long[] sections = new long[SECTION_COUNT];
+        long position = HEADER_SIZE;
+        long[] sizes = {
+            4L * rows, 8L * rows, 2L * rows, 4L * (rows + 1), 4L * (rows + 1), 4L * rows,
+            4L * (categoryBytes.length + 1), nameHeapSize, keyHeapSize, dictHeapSize
+        };
+        for (int i = 0; i < sizes.length; i++) {
+            sections[i] = position;
+            position = align(position + sizes[i]);
+        }
+        sections[END] = position;
+        if (position > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Catalog larger than 2 GB");
+        }
+
+        ByteBuffer out = ByteBuffer.allocateDirect((int) position).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(categoryBytes.length);
+        for (long section : sections) {
+            out.putLong(section);
+        }
+
+        int nameOffset = 0, keyOffset = 0, dictOffset = 0;
+        for (int i = 0; i < rows; i++) {
+            out.putInt((int) sections[IDS] + 4 * i, products[i].getProductId());
+            out.putDouble((int) sections[PRICES] + 8 * i, products[i].getPrice());
+            out.putShort((int) sections[CATEGORIES] + 2 * i, codes[i]);
+
+            out.putInt((int) sections[NAME_OFFSETS] + 4 * i, nameOffset);
+            out.put((int) sections[NAME_HEAP] + nameOffset, names[i]);
+            nameOffset += names[i].length;
+
+            out.putInt((int) sections[KEY_OFFSETS] + 4 * i, keyOffset);
+            out.put((int) sections[KEY_HEAP] + keyOffset, keys[i]);
+            keyOffset += keys[i].length;
+
+            out.putInt((int) sections[SORTED_ROWS] + 4 * i, order[i]);
+        }
+        out.putInt((int) sections[NAME_OFFSETS] + 4 * rows, nameOffset);
+        out.putInt((int) sections[KEY_OFFSETS] + 4 * rows, keyOffset);
+
+        for (int i = 0; i < categoryBytes.length; i++) {
+            out.putInt((int) sections[DICT_OFFSETS] + 4 * i, dictOffset);
+            out.put((int) sections[DICT_HEAP] + dictOffset, categoryBytes[i]);
+            dictOffset += categoryBytes[i].length;
+        }
+        out.putInt((int) sections[DICT_OFFSETS] + 4 * categoryBytes.length, dictOffset);
+
+        out.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public int getId(int row) {
+        return buffer.getInt(sections[IDS] + 4 * row);
+    }
+
+    public double getPrice(int row) {
+        return buffer.getDouble(sections[PRICES] + 8 * row);
+    }
+
+    public String getCategory(int row) {
+        int code = buffer.getShort(sections[CATEGORIES] + 2 * row);
+        return readString(sections[DICT_OFFSETS], sections[DICT_HEAP], code);
+    }
+
+    public String getName(int row) {
+        return readString(sections[NAME_OFFSETS], sections[NAME_HEAP], row);
+    }
+
+    // Materialize one row as a Product
+    public Product toProduct(int row) {
+        return new Product(getId(row), getName(row), getCategory(row), getPrice(row));
+    }
+
+    // Binary search over the prebuilt name index; returns the row or -1
+    public int findRowByName(String targetName) {
+        byte[] key = ProductIndex.fold(targetName).getBytes(StandardCharsets.UTF_8);
+        int left = 0, right = rows - 1;
+
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+            int row = buffer.getInt(sections[SORTED_ROWS] + 4 * middle);
+            int comparison = compareKey(row, key);
+
+            if (comparison == 0) {
+                return row;
+            } else if (comparison < 0) {
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Compare a row's key bytes in the map with the query, unsigned
+    private int compareKey(int row, byte[] key) {
+        int start = sections[KEY_HEAP] + buffer.getInt(sections[KEY_OFFSETS] + 4 * row);
+        int length = buffer.getInt(sections[KEY_OFFSETS] + 4 * (row + 1))
+                   - buffer.getInt(sections[KEY_OFFSETS] + 4 * row);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = Byte.toUnsignedInt(buffer.get(start + i)) - Byte.toUnsignedInt(key[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String readString(int offsetSection, int heapSection, int index) {
+        int start = buffer.getInt(offsetSection + 4 * index);
+        int end = buffer.getInt(offsetSection + 4 * (index + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(heapSection + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
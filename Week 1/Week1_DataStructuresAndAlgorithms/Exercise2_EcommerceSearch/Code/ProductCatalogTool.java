@@ -0,0 +1,127 @@
+// Command line tool for product catalog files
+//   java ProductCatalogTool write <file> <rows>   generate products and write a catalog
+//   java ProductCatalogTool find <file> <name>    binary search a mapped catalog
+//   java ProductCatalogTool bench <rows>          cold start: mapped catalog vs parsing text
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductCatalogTool {
+
+    private static final String USAGE =
+        "Usage: ProductCatalogTool write <file> <rows> | find <file> <name> | bench <rows>";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args.length < argumentCount(args[0])) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        switch (args[0]) {
+            case "write" -> {
+                int rows = Integer.parseInt(args[2].replace("_", ""));
+                long start = System.nanoTime();
+                ProductCatalogFile.write(ProductSearchBenchmark.generateProducts(rows, 42), Path.of(args[1]));
+                System.out.printf("Wrote %,d products in %,d ms\n",
+                                  rows, (System.nanoTime() - start) / 1_000_000);
+            }
+            case "find" -> {
+                ProductCatalogFile catalog = ProductCatalogFile.open(Path.of(args[1]));
+                Product product = ProductSearchUtility.findUsingBinarySearch(catalog, args[2]);
+                System.out.println(product != null ? product : "Not found");
+            }
+            case "bench" -> compareColdStart(Integer.parseInt(args[1].replace("_", "")));
+            default -> System.out.println("Unknown command: " + args[0]);
+        }
+    }
+
+    // Arguments a command needs, including the command itself; unknown commands fall through to the switch
+    private static int argumentCount(String command) {
+        return switch (command) {
+            case "write", "find" -> 3;
+            case "bench" -> 2;
+            default -> 1;
+        };
+    }
+
+    // Time from "file on disk" to "first lookup answered" for both formats
+    private static void compareColdStart(int rows) throws IOException {
+        Product[] products = ProductSearchBenchmark.generateProducts(rows, 42);
+        Path catalogFile = Files.createTempFile("products", ".pcat");
+        Path textFile = Files.createTempFile("products", ".txt");
+        String target = products[rows / 2].getProductName();
+
+        try {
+            ProductCatalogFile.write(products, catalogFile);
+            writeText(products, textFile);
+            products = null;
+
+            System.out.printf("=== COLD START FOR %,d PRODUCTS ===\n", rows);
+            System.out.printf("Catalog file: %,d bytes\n", Files.size(catalogFile));
+            System.out.printf("Text file:    %,d bytes\n\n", Files.size(textFile));
+
+            long start = System.nanoTime();
+            ProductCatalogFile catalog = ProductCatalogFile.open(catalogFile);
+            int row = catalog.findRowByName(target);
+            long mappedTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Product[] parsed = readText(textFile);
+            ProductSearchUtility.sortProductsByName(parsed);
+            int index = binarySearch(parsed, target);
+            long parsedTime = System.nanoTime() - start;
+
+            System.out.printf("Mapped catalog: %,12d us (row %d)\n", mappedTime / 1_000, row);
+            System.out.printf("Parse + sort:   %,12d us (index %d)\n", parsedTime / 1_000, index);
+        } finally {
+            Files.deleteIfExists(catalogFile);
+            Files.deleteIfExists(textFile);
+        }
+    }
+
+    // One product per line: id|name|category|price
+    private static void writeText(Product[] products, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Product product : products) {
+                writer.write(product.getProductId() + "|" + product.getProductName() + "|"
+                             + product.getCategory() + "|" + product.getPrice());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static Product[] readText(Path file) throws IOException {
+        List<Product> products = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\\|");
+                products.add(new Product(Integer.parseInt(fields[0]), fields[1], fields[2],
+                                         Double.parseDouble(fields[3])));
+            }
+        }
+        return products.toArray(new Product[0]);
+    }
+
+    // Same search as ProductSearchUtility.findUsingBinarySearch, without the console output
+    private static int binarySearch(Product[] products, String targetName) {
+        int left = 0, right = products.length - 1;
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+            int comparison = products[middle].getProductName().compareToIgnoreCase(targetName);
+            if (comparison == 0) {
+                return middle;
+            } else if (comparison < 0) {
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return -1;
+    }
+}
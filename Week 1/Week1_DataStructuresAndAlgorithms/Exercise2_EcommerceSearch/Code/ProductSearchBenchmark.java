@@ -0,0 +1,146 @@
+// Benchmark comparing ProductIndex with linear search, binary search and stream filtering
+// Run: java -Xmx8g ProductSearchBenchmark [sizes...]   (defaults to 10K, 1M and 10M products)
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+public class ProductSearchBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "Electronics", "Books", "Clothing", "Home", "Toys", "Sports", "Garden", "Grocery"
+    };
+    private static final String[] WORDS = {
+        "wireless", "smart", "classic", "ultra", "mini", "pro", "eco", "deluxe",
+        "phone", "lamp", "shirt", "novel", "kettle", "drone", "ball", "chair"
+    };
+
+    private static final int QUERIES = 200;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+            ? new int[] {10_000, 1_000_000, 10_000_000}
+            : parseSizes(args);
+
+        for (int size : sizes) {
+            runBenchmark(size);
+        }
+    }
+
+    private static void runBenchmark(int size) {
+        System.out.printf("\n=== %,d PRODUCTS ===\n", size);
+        Product[] products = generateProducts(size, 42);
+        Product[] sorted = products.clone();
+        ProductSearchUtility.sortProductsByName(sorted);
+
+        Random random = new Random(7);
+        String[] names = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            names[i] = products[random.nextInt(size)].getProductName();
+        }
+
+        long start = System.nanoTime();
+        ProductIndex index = ProductIndex.build(products);
+        System.out.printf("Index build: %,d ms\n", (System.nanoTime() - start) / 1_000_000);
+
+        // The existing searches print every result, so silence stdout while timing them
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        int linearQueries = size > 1_000_000 ? 20 : QUERIES;
+        long linear;
+        long binary;
+        long hashed;
+        try {
+            linear = time(() -> {
+                for (int i = 0; i < linearQueries; i++) {
+                    ProductSearchUtility.findUsingLinearSearch(products, names[i]);
+                }
+            });
+            binary = time(() -> {
+                for (String name : names) {
+                    ProductSearchUtility.findUsingBinarySearch(sorted, name);
+                }
+            });
+
+            hashed = time(() -> {
+                for (String name : names) {
+                    index.findByName(name);
+                }
+            });
+        } finally {
+            System.setOut(console);
+        }
+        report("Linear search", linear, linearQueries);
+        report("Binary search", binary, QUERIES);
+        report("Index lookup", hashed, QUERIES);
+
+        long stream = time(() -> {
+            for (String category : CATEGORIES) {
+                ProductSearchUtility.searchByCategoryUsingStream(products, category);
+            }
+        });
+        long postings = time(() -> {
+            for (String category : CATEGORIES) {
+                index.findByCategory(category);
+            }
+        });
+        report("Category stream", stream, CATEGORIES.length);
+        report("Category index", postings, CATEGORIES.length);
+
+        String[] fragments = {"phone", "ess lam", "ultra k", "drone 1"};
+        long substringScan = time(() -> {
+            for (String fragment : fragments) {
+                scanContaining(products, fragment);
+            }
+        });
+        long substringIndex = time(() -> {
+            for (String fragment : fragments) {
+                index.findBySubstring(fragment);
+            }
+        });
+        report("Substring scan", substringScan, fragments.length);
+        report("Substring index", substringIndex, fragments.length);
+    }
+
+    // Baseline substring search without an index
+    private static int scanContaining(Product[] products, String fragment) {
+        int count = 0;
+        for (Product product : products) {
+            if (product.getProductName().toLowerCase().contains(fragment)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Product[] generateProducts(int size, long seed) {
+        Random random = new Random(seed);
+        Product[] products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " "
+                        + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            products[i] = new Product(i, name, category, 1 + random.nextInt(100_000) / 100.0);
+        }
+        return products;
+    }
+
+    private static long time(Runnable task) {
+        // One untimed pass so the JIT has compiled the path being measured
+        task.run();
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, long nanos, int operations) {
+        System.out.printf("%-16s %,12d ns/op\n", label + ":", nanos / operations);
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+}
@@ -46,15 +46,62 @@ public class ProductSearchUtility {
         return null;
     }
 
+    // Binary search directly over a memory-mapped catalog file
+    public static Product findUsingBinarySearch(ProductCatalogFile catalog, String targetName) {
+        int row = catalog.findRowByName(targetName);
+        if (row < 0) {
+            System.out.printf("Mapped Binary Search: '%s' not found\n", targetName);
+            return null;
+        }
+        System.out.printf("Mapped Binary Search: Found '%s' at row %d\n", targetName, row);
+        return catalog.toProduct(row);
+    }
+
+    // Hash lookup through an index the caller built with ProductIndex.build(products)
+    // Same result as linear search, without scanning the array. The index is a snapshot:
+    // build a new one after changing the array.
+    public static Product findUsingIndex(ProductIndex index, String targetName) {
+        return index.findByName(targetName);
+    }
+
+    // Find the closest names within maxEdits typos (insert, delete or replace a character)
+    public static Product[] findUsingFuzzySearch(ProductIndex index, String query, int maxEdits, int limit) {
+        return index.findFuzzy(query, maxEdits, limit);
+    }
+
+    // Find all products whose name contains the query
+    public static Product[] searchByNameContaining(ProductIndex index, String query) {
+        return index.findBySubstring(query);
+    }
+
+    // Find all products whose name starts with the query
+    public static Product[] searchByNamePrefix(ProductIndex index, String prefix) {
+        return index.findByPrefix(prefix);
+    }
+
     // Sort products alphabetically by name
+    // Case-insensitive comparator matches binary search and avoids a lowercase copy per comparison
     public static void sortProductsByName(Product[] products) {
         Arrays.sort(products, Comparator.comparing(
-            product -> product.getProductName().toLowerCase()
+            Product::getProductName, String.CASE_INSENSITIVE_ORDER
         ));
     }
 
     // Find all products in a specific category
+    // One pass over the array; for repeated queries use ProductIndex.findByCategory
     public static Product[] searchByCategory(Product[] products, String category) {
+        Product[] matches = new Product[products.length];
+        int count = 0;
+        for (Product product : products) {
+            if (product.getCategory().equalsIgnoreCase(category)) {
+                matches[count++] = product;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Original stream-based category filter, kept for comparison
+    public static Product[] searchByCategoryUsingStream(Product[] products, String category) {
         return Arrays.stream(products)
                     .filter(p -> p.getCategory().equalsIgnoreCase(category))
                     .toArray(Product[]::new);
@@ -79,5 +126,6 @@ public class ProductSearchUtility {
         System.out.println("- Small datasets: Linear search is fine");
         System.out.println("- Large datasets: Binary search is much faster");
         System.out.println("- Real applications often use hash tables or databases");
+        System.out.println("- Repeated lookups: build a ProductIndex once and query it");
     }
 }
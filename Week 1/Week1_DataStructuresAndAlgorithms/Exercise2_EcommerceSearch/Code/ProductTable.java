@@ -0,0 +1,275 @@
+// Column-oriented product store
+// Keeps each field in its own primitive array instead of one object per product
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ProductTable {
+
+    private final int size;
+
+    // One entry per row
+    private final int[] ids;
+    private final double[] prices;
+    private final short[] categoryCodes;
+
+    // Category dictionary - code -> name, folded name -> code
+    private final String[] categoryNames;
+    private final Map<String, Short> categoryLookup;
+
+    // Names stored once as UTF-8; row i spans nameOffsets[i] .. nameOffsets[i + 1]
+    private final byte[] nameBytes;
+    private final int[] nameOffsets;
+
+    // Case-folded copy of every name, used as the sort and search key
+    private final byte[] keyBytes;
+    private final int[] keyOffsets;
+
+    // Rows ordered by sort key, built on first sortByName()
+    private int[] sortedRows;
+
+    private ProductTable(Product[] products) {
+        size = products.length;
+        ids = new int[size];
+        prices = new double[size];
+        categoryCodes = new short[size];
+        nameOffsets = new int[size + 1];
+        keyOffsets = new int[size + 1];
+
+        Map<String, Short> lookup = new HashMap<>();
+        String[] dictionary = new String[16];
+        ByteArena names = new ByteArena(size * 16);
+        ByteArena keys = new ByteArena(size * 16);
+
+        for (int i = 0; i < size; i++) {
+            Product product = products[i];
+            ids[i] = product.getProductId();
+            prices[i] = product.getPrice();
+
+            String folded = ProductIndex.fold(product.getCategory());
+            Short code = lookup.get(folded);
+            if (code == null) {
+                if (lookup.size() > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many categories for a short code");
+                }
+                code = (short) lookup.size();
+                if (code == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                }
+                dictionary[code] = product.getCategory();
+                lookup.put(folded, code);
+            }
+            categoryCodes[i] = code;
+
+            String name = product.getProductName();
+            names.append(name.getBytes(StandardCharsets.UTF_8));
+            nameOffsets[i + 1] = names.size();
+            keys.append(ProductIndex.fold(name).getBytes(StandardCharsets.UTF_8));
+            keyOffsets[i + 1] = keys.size();
+        }
+
+        categoryNames = Arrays.copyOf(dictionary, lookup.size());
+        categoryLookup = lookup;
+        nameBytes = names.toArray();
+        keyBytes = keys.toArray();
+    }
+
+    // Copy an object array into columns
+    public static ProductTable from(Product[] products) {
+        return new ProductTable(products);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public double getPrice(int row) {
+        return prices[row];
+    }
+
+    public void setPrice(int row, double price) {
+        prices[row] = price;
+    }
+
+    public String getCategory(int row) {
+        return categoryNames[categoryCodes[row]];
+    }
+
+    // Decodes the name - allocates, so keep it out of loops
+    public String getName(int row) {
+        int start = nameOffsets[row];
+        return new String(nameBytes, start, nameOffsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    // Rebuild a Product for callers that still need objects
+    public Product toProduct(int row) {
+        return new Product(ids[row], getName(row), getCategory(row), prices[row]);
+    }
+
+    // Linear search over the key column; returns the row or -1
+    public int findUsingLinearSearch(String targetName) {
+        byte[] key = toKey(targetName);
+        for (int row = 0; row < size; row++) {
+            if (compareKey(row, key) == 0) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // Binary search over the name order built by sortByName(); returns the row or -1
+    public int findUsingBinarySearch(String targetName) {
+        int[] order = sortByName();
+        byte[] key = toKey(targetName);
+        int left = 0, right = size - 1;
+
+        while (left <= right) {
+            int middle = left + (right - left) / 2;
+            int comparison = compareKey(order[middle], key);
+
+            if (comparison == 0) {
+                return order[middle];
+            } else if (comparison < 0) {
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Row numbers ordered by case-folded name
+    // Sorts a permutation of row numbers, comparing key bytes in place
+    public int[] sortByName() {
+        if (sortedRows == null) {
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = i;
+            }
+            int[] scratch = new int[size];
+            mergeSort(rows, scratch, 0, size);
+            sortedRows = rows;
+        }
+        return sortedRows;
+    }
+
+    // Rows in the given category, in table order
+    public int[] searchByCategory(String category) {
+        Short code = categoryLookup.get(ProductIndex.fold(category));
+        if (code == null) {
+            return new int[0];
+        }
+        short target = code;
+
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (categoryCodes[row] == target) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        int n = 0;
+        for (int row = 0; row < size && n < count; row++) {
+            if (categoryCodes[row] == target) {
+                rows[n++] = row;
+            }
+        }
+        return rows;
+    }
+
+    // Number of rows per category code - indexes match getCategoryNames()
+    public int[] countByCategory() {
+        int[] counts = new int[categoryNames.length];
+        for (int row = 0; row < size; row++) {
+            counts[categoryCodes[row]]++;
+        }
+        return counts;
+    }
+
+    public String[] getCategoryNames() {
+        return categoryNames.clone();
+    }
+
+    // Approximate bytes held by the columns and dictionary
+    public long estimateFootprintBytes() {
+        long bytes = 4L * ids.length + 8L * prices.length + 2L * categoryCodes.length;
+        bytes += nameBytes.length + 4L * nameOffsets.length;
+        bytes += keyBytes.length + 4L * keyOffsets.length;
+        if (sortedRows != null) {
+            bytes += 4L * sortedRows.length;
+        }
+        return bytes;
+    }
+
+    private static byte[] toKey(String name) {
+        return ProductIndex.fold(name).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Unsigned byte comparison - UTF-8 byte order matches code point order
+    private int compareKey(int row, byte[] key) {
+        int start = keyOffsets[row];
+        int end = keyOffsets[row + 1];
+        return Arrays.compareUnsigned(keyBytes, start, end, key, 0, key.length);
+    }
+
+    private int compareRows(int a, int b) {
+        return Arrays.compareUnsigned(keyBytes, keyOffsets[a], keyOffsets[a + 1],
+                                      keyBytes, keyOffsets[b], keyOffsets[b + 1]);
+    }
+
+    // Stable merge sort so rows with equal names keep table order
+    private void mergeSort(int[] rows, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, scratch, from, middle);
+        mergeSort(rows, scratch, middle, to);
+        if (compareRows(rows[middle - 1], rows[middle]) <= 0) {
+            return; // Already in order
+        }
+
+        System.arraycopy(rows, from, scratch, from, to - from);
+        int i = from, j = middle, k = from;
+        while (i < middle && j < to) {
+            rows[k++] = compareRows(scratch[j], scratch[i]) < 0 ? scratch[j++] : scratch[i++];
+        }
+        while (i < middle) {
+            rows[k++] = scratch[i++];
+        }
+        while (j < to) {
+            rows[k++] = scratch[j++];
+        }
+    }
+
+    // Growable byte buffer used while loading names
+    private static final class ByteArena {
+        private byte[] bytes;
+        private int size;
+
+        ByteArena(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void append(byte[] value) {
+            if (size + value.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + value.length));
+            }
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// Compares retained heap of Product[] against ProductTable
+// Run: java -Xmx8g ProductTableFootprint [rows]   (defaults to 5M rows)
+public class ProductTableFootprint {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 5_000_000;
+
+        System.out.printf("=== FOOTPRINT FOR %,d PRODUCTS ===\n", rows);
+
+        long baseline = usedHeap();
+        Product[] products = ProductSearchBenchmark.generateProducts(rows, 42);
+        long objectBytes = usedHeap() - baseline;
+
+        ProductTable table = ProductTable.from(products);
+        table.sortByName();
+        products = null; // Let the objects go so only the table is retained
+        long tableBytes = usedHeap() - baseline;
+
+        System.out.printf("Product[] retained:    %,15d bytes (%.1f bytes/row)\n",
+                          objectBytes, (double) objectBytes / rows);
+        System.out.printf("ProductTable retained: %,15d bytes (%.1f bytes/row)\n",
+                          tableBytes, (double) tableBytes / rows);
+        System.out.printf("ProductTable columns:  %,15d bytes (estimate)\n",
+                          table.estimateFootprintBytes());
+        System.out.printf("Saving: %.1f%%\n", 100.0 * (objectBytes - tableBytes) / objectBytes);
+
+        // Timings for the column paths, none of which allocate per row
+        long start = System.nanoTime();
+        int found = table.findUsingBinarySearch(table.getName(rows / 2));
+        System.out.printf("\nBinary search: row %d in %,d ns\n", found, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        int inCategory = table.searchByCategory("Books").length;
+        System.out.printf("Category filter: %,d rows in %,d ms\n",
+                          inCategory, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Heap in use after asking the collector to settle
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -3,7 +3,8 @@
 public class FinancialForecaster {
 
     // Store previous calculations to avoid recalculating same values
-    private static java.util.Map<String, Double> cache = new java.util.HashMap<>();
+    // Bounded and thread-safe; swap in another ForecastCache with setCache()
+    private static volatile ForecastCache cache = new LruForecastCache(10_000);
 
     // Basic recursive calculation: FV = PV * (1 + rate)^periods
     // Each call handles one period, then recurses for remaining periods
@@ -17,19 +18,34 @@ public class FinancialForecaster {
     }
 
     public static double calculateFutureValueOptimized(double presentValue, double growthRate, int periods) {
-        String key = String.format("%.2f_%.4f_%d", presentValue, growthRate, periods);
-        
-        if (cache.containsKey(key)) {
-            System.out.println("Using cached result");
-            return cache.get(key);
+        // Inputs without an exact key (NaN, infinite, huge) skip the cache rather than share an entry
+        if (!ForecastCache.hasExactKey(presentValue, 100) || !ForecastCache.hasExactKey(growthRate, 10_000)) {
+            return calculateFutureValueRecursive(presentValue, growthRate, periods);
+        }
+        ForecastCache current = cache;
+        long cents = ForecastCache.toCents(presentValue);
+        long rate = ForecastCache.toTenThousandths(growthRate);
+
+        double cached = current.get(cents, rate, periods);
+        if (!Double.isNaN(cached)) {
+            return cached;
         }
         
         double result = calculateFutureValueRecursive(presentValue, growthRate, periods);
-        cache.put(key, result);
+        current.put(cents, rate, periods, result);
         
         return result;
     }
 
+    // Replace the cache used by calculateFutureValueOptimized
+    public static void setCache(ForecastCache newCache) {
+        cache = newCache;
+    }
+
+    public static ForecastCache getCache() {
+        return cache;
+    }
+
     // Non-recursive version for comparison
     // Usually faster and doesn't risk stack overflow
     public static double calculateFutureValueIterative(double presentValue, double growthRate, int periods) {
@@ -65,6 +81,28 @@ public class FinancialForecaster {
         }
     }
 
+    // Random yearly returns instead of fixed rates - shows the spread of outcomes
+    public static void performMonteCarloAnalysis(double initialInvestment, int years,
+                                                 double meanReturn, double volatility, long paths) {
+        MonteCarloForecaster simulator = new MonteCarloForecaster(Runtime.getRuntime().availableProcessors());
+        try {
+            MonteCarloForecaster.Result result = simulator.simulate(initialInvestment, meanReturn, volatility,
+                    years, paths, MonteCarloForecaster.ReturnModel.NORMAL, 42);
+
+            System.out.println("\n=== MONTE CARLO SIMULATION ===");
+            System.out.printf("%,d paths, mean return %.1f%%, volatility %.1f%%\n\n",
+                            result.getPaths(), meanReturn * 100, volatility * 100);
+            for (double percentile : new double[] {5, 50, 95}) {
+                System.out.printf("P%-3.0f $%,12.2f (CAGR %.2f%%)\n", percentile,
+                                result.finalValuePercentile(percentile), result.cagrPercentile(percentile) * 100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            simulator.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("FINANCIAL FORECASTING DEMO");
         System.out.println("===========================\n");
@@ -102,6 +140,8 @@ public class FinancialForecaster {
         long cachedTime = System.nanoTime() - start;
         System.out.printf("Cached result: $%,.2f\n", cachedResult);
         System.out.printf("Cached time: %,d nanoseconds\n", cachedTime);
+        System.out.printf("Cache: %d hits, %d misses, %d evictions\n",
+                        cache.hitCount(), cache.missCount(), cache.evictionCount());
 
         // Compare with iterative approach
         System.out.println("\n=== ITERATIVE COMPARISON ===");
@@ -114,6 +154,7 @@ public class FinancialForecaster {
 
         // Show different scenarios
         performScenarioAnalysis(investment, years);
+        performMonteCarloAnalysis(investment, years, growthRate, 0.15, 100_000);
 
         // Test edge cases
         System.out.println("\n=== EDGE CASES ===");
@@ -134,13 +175,19 @@ public class FinancialForecaster {
         System.out.println("\nOptimized (with cache):");
         System.out.println("- Remembers previous calculations");
         System.out.println("- Much faster for repeated scenarios");
-        System.out.println("- Uses more memory to store cache");
+        System.out.println("- Cache size is bounded; least recently used entries are evicted");
         
         System.out.println("\nIterative:");
         System.out.println("- Usually fastest approach");
         System.out.println("- No stack overflow risk");
         System.out.println("- Less intuitive than recursive");
 
+        System.out.println("\nClosed form (BatchForecaster):");
+        System.out.printf("- Result: $%,.2f\n",
+                        BatchForecaster.futureValueBySquaring(investment, growthRate, years));
+        System.out.println("- O(log n) multiplications instead of one per period");
+        System.out.println("- Batch version projects whole arrays of portfolios at once");
+
         System.out.println("\nDone!");
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+// Compares the per-period FinancialForecaster methods with the BatchForecaster closed forms
+// Run: java ForecastBenchmark [portfolios]   (defaults to 1M portfolios)
+import java.util.Random;
+
+public class ForecastBenchmark {
+
+    private static final int MAX_PERIODS = 360; // 30 years of monthly periods
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+
+        Random random = new Random(42);
+        double[] presentValues = new double[n];
+        double[] rates = new double[n];
+        int[] periods = new int[n];
+        for (int i = 0; i < n; i++) {
+            presentValues[i] = 1_000 + random.nextInt(1_000_000);
+            rates[i] = random.nextInt(1000) / 100_000.0; // 0% - 1% per period
+            periods[i] = 1 + random.nextInt(MAX_PERIODS);
+        }
+        double[] out = new double[n];
+
+        System.out.printf("=== FORECAST BATCH, %,d PORTFOLIOS, UP TO %d PERIODS ===\n", n, MAX_PERIODS);
+
+        long recursive = time(() -> {
+            for (int i = 0; i < n; i++) {
+                out[i] = FinancialForecaster.calculateFutureValueRecursive(presentValues[i], rates[i], periods[i]);
+            }
+        });
+        double[] expected = out.clone();
+
+        long iterative = time(() -> {
+            for (int i = 0; i < n; i++) {
+                out[i] = FinancialForecaster.calculateFutureValueIterative(presentValues[i], rates[i], periods[i]);
+            }
+        });
+
+        long optimized = time(() -> {
+            for (int i = 0; i < n; i++) {
+                out[i] = FinancialForecaster.calculateFutureValueOptimized(presentValues[i], rates[i], periods[i]);
+            }
+        });
+
+        // Each batch path gets its own output so both are checked against the recursive result
+        double[] powOut = new double[n];
+        double[] squaringOut = new double[n];
+        long pow = time(() -> BatchForecaster.forecast(presentValues, rates, periods, powOut));
+        long squaring = time(() -> BatchForecaster.forecastBySquaring(presentValues, rates, periods, squaringOut));
+
+        report("Recursive", recursive, n);
+        report("Iterative", iterative, n);
+        report("Optimized", optimized, n);
+        report("Batch pow", pow, n);
+        report("Batch squaring", squaring, n);
+        System.out.println("\nLargest relative difference from recursive:");
+        System.out.printf("  Batch pow:      %.2e\n", worstError(powOut, expected));
+        System.out.printf("  Batch squaring: %.2e\n", worstError(squaringOut, expected));
+    }
+
+    private static double worstError(double[] actual, double[] expected) {
+        double worst = 0;
+        for (int i = 0; i < actual.length; i++) {
+            worst = Math.max(worst, Math.abs(actual[i] - expected[i]) / expected[i]);
+        }
+        return worst;
+    }
+
+    private static long time(Runnable task) {
+        task.run(); // Warm up
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, long nanos, int n) {
+        System.out.printf("%-15s %,10d ms  %8.1f ns/portfolio\n",
+                          label + ":", nanos / 1_000_000, (double) nanos / n);
+    }
+}
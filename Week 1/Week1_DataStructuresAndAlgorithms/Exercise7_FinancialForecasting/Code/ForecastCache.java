@@ -0,0 +1,44 @@
+// Cache for future-value results, keyed by primitives so lookups never box or format
+// Present value is keyed to the cent and growth rate to 1/10000, matching the
+// rounding the original string keys used
+public interface ForecastCache {
+
+    // Returned by get() when there is no entry
+    double MISSING = Double.NaN;
+
+    double get(long presentValueCents, long rateTenThousandths, int periods);
+
+    void put(long presentValueCents, long rateTenThousandths, int periods, double value);
+
+    void clear();
+
+    long hitCount();
+
+    long missCount();
+
+    long evictionCount();
+
+    int size();
+
+    // Scaled values beyond 2^53 are no longer whole numbers apart, so nearby inputs would share a key
+    long MAX_EXACT_KEY = 1L << 53;
+
+    // False for NaN, infinities and values too large to key exactly at this scale
+    static boolean hasExactKey(double value, double scale) {
+        return Math.abs(value * scale) <= MAX_EXACT_KEY;
+    }
+
+    static long toCents(double presentValue) {
+        if (!hasExactKey(presentValue, 100)) {
+            throw new IllegalArgumentException("Present value has no exact cent key: " + presentValue);
+        }
+        return Math.round(presentValue * 100);
+    }
+
+    static long toTenThousandths(double growthRate) {
+        if (!hasExactKey(growthRate, 10_000)) {
+            throw new IllegalArgumentException("Growth rate has no exact key: " + growthRate);
+        }
+        return Math.round(growthRate * 10_000);
+    }
+}
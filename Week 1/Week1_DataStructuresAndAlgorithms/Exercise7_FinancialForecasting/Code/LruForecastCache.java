@@ -0,0 +1,295 @@
+// Bounded, thread-safe LRU cache for forecasts
+// Split into segments, each with its own lock, open-addressing table and LRU list.
+// Everything lives in preallocated primitive arrays, so get/put allocate nothing.
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LruForecastCache implements ForecastCache {
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruForecastCache(int maxEntries) {
+        this(maxEntries, 16);
+    }
+
+    // segmentCount is rounded down to a power of two
+    public LruForecastCache(int maxEntries, int segmentCount) {
+        if (maxEntries <= 0 || segmentCount <= 0) {
+            throw new IllegalArgumentException("maxEntries and segmentCount must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(segmentCount, maxEntries));
+        segments = new Segment[count];
+        segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder so the total never exceeds maxEntries
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    @Override
+    public double get(long presentValueCents, long rateTenThousandths, int periods) {
+        int hash = hash(presentValueCents, rateTenThousandths, periods);
+        double value = segmentFor(hash).get(hash, presentValueCents, rateTenThousandths, periods);
+        if (Double.isNaN(value)) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(long presentValueCents, long rateTenThousandths, int periods, double value) {
+        int hash = hash(presentValueCents, rateTenThousandths, periods);
+        if (segmentFor(hash).put(hash, presentValueCents, rateTenThousandths, periods, value)) {
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LruForecastCache[size=%d, hits=%d, misses=%d, evictions=%d]",
+                             size(), hitCount(), missCount(), evictionCount());
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int hash(long a, long b, int c) {
+        long h = a * 0x9E3779B97F4A7C15L;
+        h ^= b * 0xC2B2AE3D27D4EB4FL;
+        h ^= c * 0x165667B19E3779F9L;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // One lock-protected slice of the cache
+    private static final class Segment {
+        private static final int EMPTY = -1;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Entry storage, indexed by entry number
+        private final long[] presentValues;
+        private final long[] rates;
+        private final int[] periods;
+        private final double[] values;
+        private final int[] hashes;
+        private final int[] slots;      // Table slot holding each entry
+        private final int[] newer;      // LRU links, EMPTY at the ends
+        private final int[] older;
+
+        // Open-addressing table of entry numbers
+        private final int[] table;
+        private final int tableMask;
+
+        private final int capacity;
+        private int size;
+        private int newest = EMPTY;
+        private int oldest = EMPTY;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            presentValues = new long[capacity];
+            rates = new long[capacity];
+            periods = new int[capacity];
+            values = new double[capacity];
+            hashes = new int[capacity];
+            slots = new int[capacity];
+            newer = new int[capacity];
+            older = new int[capacity];
+
+            // Keep the load factor at or below 50%
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            table = new int[tableSize];
+            tableMask = tableSize - 1;
+            Arrays.fill(table, EMPTY);
+        }
+
+        double get(int hash, long presentValue, long rate, int period) {
+            lock.lock();
+            try {
+                int entry = find(hash, presentValue, rate, period);
+                if (entry == EMPTY) {
+                    return MISSING;
+                }
+                moveToFront(entry);
+                return values[entry];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Returns true if an older entry was evicted to make room
+        boolean put(int hash, long presentValue, long rate, int period, double value) {
+            lock.lock();
+            try {
+                int entry = find(hash, presentValue, rate, period);
+                if (entry != EMPTY) {
+                    values[entry] = value;
+                    moveToFront(entry);
+                    return false;
+                }
+
+                boolean evicted = false;
+                if (size < capacity) {
+                    entry = size++;
+                } else {
+                    // Reuse the least recently used entry
+                    entry = oldest;
+                    unlink(entry);
+                    removeSlot(slots[entry]);
+                    evicted = true;
+                }
+
+                presentValues[entry] = presentValue;
+                rates[entry] = rate;
+                periods[entry] = period;
+                values[entry] = value;
+                hashes[entry] = hash;
+
+                int slot = hash & tableMask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & tableMask;
+                }
+                table[slot] = entry;
+                slots[entry] = slot;
+                linkFront(entry);
+                return evicted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                Arrays.fill(table, EMPTY);
+                size = 0;
+                newest = EMPTY;
+                oldest = EMPTY;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int find(int hash, long presentValue, long rate, int period) {
+            int slot = hash & tableMask;
+            while (true) {
+                int entry = table[slot];
+                if (entry == EMPTY) {
+                    return EMPTY;
+                }
+                if (hashes[entry] == hash && presentValues[entry] == presentValue
+                        && rates[entry] == rate && periods[entry] == period) {
+                    return entry;
+                }
+                slot = (slot + 1) & tableMask;
+            }
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void removeSlot(int hole) {
+            int slot = hole;
+            while (true) {
+                slot = (slot + 1) & tableMask;
+                int entry = table[slot];
+                if (entry == EMPTY) {
+                    break;
+                }
+                int home = hashes[entry] & tableMask;
+                // Move the entry back if its home is not between the hole and its slot
+                boolean movable = hole <= slot ? (home <= hole || home > slot)
+                                               : (home <= hole && home > slot);
+                if (movable) {
+                    table[hole] = entry;
+                    slots[entry] = hole;
+                    hole = slot;
+                }
+            }
+            table[hole] = EMPTY;
+        }
+
+        private void moveToFront(int entry) {
+            if (entry != newest) {
+                unlink(entry);
+                linkFront(entry);
+            }
+        }
+
+        private void linkFront(int entry) {
+            older[entry] = newest;
+            newer[entry] = EMPTY;
+            if (newest != EMPTY) {
+                newer[newest] = entry;
+            }
+            newest = entry;
+            if (oldest == EMPTY) {
+                oldest = entry;
+            }
+        }
+
+        private void unlink(int entry) {
+            int before = newer[entry];
+            int after = older[entry];
+            if (before != EMPTY) {
+                older[before] = after;
+            } else {
+                newest = after;
+            }
+            if (after != EMPTY) {
+                newer[after] = before;
+            } else {
+                oldest = before;
+            }
+        }
+    }
+}
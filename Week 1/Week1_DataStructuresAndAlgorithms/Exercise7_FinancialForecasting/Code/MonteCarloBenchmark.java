@@ -0,0 +1,42 @@
+// Monte Carlo throughput in paths per second, per thread count
+// Run: java MonteCarloBenchmark [paths] [periods]   (defaults to 10M paths of 30 periods)
+public class MonteCarloBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+        long paths = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 10_000_000L;
+        int periods = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        System.out.printf("=== MONTE CARLO, %,d PATHS x %d PERIODS, %d CORES AVAILABLE ===\n",
+                          paths, periods, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %14s %16s %12s\n", "Threads", "Paths/sec", "Paths/sec/core", "P50");
+
+        double firstMedian = Double.NaN;
+        for (int threads : THREADS) {
+            MonteCarloForecaster simulator = new MonteCarloForecaster(threads);
+            try {
+                // Warm up on a smaller run
+                simulator.simulate(10_000, 0.07, 0.15, periods, paths / 20 + 1,
+                                   MonteCarloForecaster.ReturnModel.NORMAL, 1);
+
+                long start = System.nanoTime();
+                MonteCarloForecaster.Result result = simulator.simulate(10_000, 0.07, 0.15, periods, paths,
+                                                                        MonteCarloForecaster.ReturnModel.NORMAL, 42);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                double median = result.finalValuePercentile(50);
+                if (Double.isNaN(firstMedian)) {
+                    firstMedian = median;
+                } else if (median != firstMedian) {
+                    // Same seed must give the same answer whatever the thread count
+                    System.out.println("Result changed with thread count!");
+                }
+                System.out.printf("%-8d %,14.0f %,16.0f %,12.2f\n",
+                                  threads, paths / seconds, paths / seconds / threads, median);
+            } finally {
+                simulator.shutdown();
+            }
+        }
+    }
+}
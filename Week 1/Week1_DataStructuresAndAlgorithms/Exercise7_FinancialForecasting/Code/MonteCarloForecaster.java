@@ -0,0 +1,131 @@
+// Monte Carlo projections with random per-period returns
+// Paths are split into fixed-size chunks, each with its own SplittableRandom stream
+// derived from the seed and the chunk number, so results do not depend on the number of
+// threads. One task per worker claims chunks until none are left and adds their final
+// values to its own quantile sketch; no path is ever stored, and memory grows with the
+// thread count, not the path count.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MonteCarloForecaster {
+
+    // How per-period returns are drawn
+    public enum ReturnModel {
+        NORMAL,     // return = mean + volatility * Z, floored at -100%
+        LOGNORMAL   // growth = exp(mean + volatility * Z), never below zero
+    }
+
+    private static final int PATHS_PER_CHUNK = 16_384;
+    private static final double SKETCH_ACCURACY = 0.001;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloForecaster(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Run `paths` simulations of `periods` returns starting from initialInvestment
+    public Result simulate(double initialInvestment, double meanReturn, double volatility, int periods,
+                           long paths, ReturnModel model, long seed) throws InterruptedException {
+        if (paths <= 0 || periods <= 0) {
+            throw new IllegalArgumentException("paths and periods must be positive");
+        }
+
+        long chunkCount = (paths + PATHS_PER_CHUNK - 1) / PATHS_PER_CHUNK;
+        int workers = (int) Math.min(pool.getParallelism(), chunkCount);
+        AtomicLong nextChunk = new AtomicLong();
+        CompletionService<QuantileSketch> completion = new ExecutorCompletionService<>(pool);
+        List<Future<QuantileSketch>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(completion.submit(() -> {
+                QuantileSketch sketch = new QuantileSketch(SKETCH_ACCURACY);
+                long chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+                    long first = chunk * PATHS_PER_CHUNK;
+                    int count = (int) Math.min(PATHS_PER_CHUNK, paths - first);
+                    runChunk(chunkRandom(seed, chunk), count, initialInvestment, meanReturn, volatility,
+                             periods, model, sketch);
+                }
+                return sketch;
+            }));
+        }
+
+        // Sketch merging only adds bucket counts, so the completion order does not matter
+        QuantileSketch total = new QuantileSketch(SKETCH_ACCURACY);
+        try {
+            for (int w = 0; w < workers; w++) {
+                total.merge(completion.take().get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            for (Future<QuantileSketch> task : tasks) {
+                task.cancel(true);
+            }
+        }
+        return new Result(initialInvestment, periods, total);
+    }
+
+    // Chunk i's stream depends only on the seed and i, whichever worker runs it
+    private static SplittableRandom chunkRandom(long seed, long chunk) {
+        return new SplittableRandom(new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L)).nextLong());
+    }
+
+    private static void runChunk(SplittableRandom random, int count, double initialInvestment, double meanReturn,
+                                 double volatility, int periods, ReturnModel model, QuantileSketch sketch) {
+        for (int path = 0; path < count; path++) {
+            double value = initialInvestment;
+            if (model == ReturnModel.LOGNORMAL) {
+                // Sum log returns and exponentiate once per path
+                double logGrowth = 0;
+                for (int p = 0; p < periods; p++) {
+                    logGrowth += meanReturn + volatility * random.nextGaussian();
+                }
+                value *= Math.exp(logGrowth);
+            } else {
+                for (int p = 0; p < periods; p++) {
+                    double periodReturn = meanReturn + volatility * random.nextGaussian();
+                    value *= Math.max(0.0, 1 + periodReturn);
+                }
+            }
+            sketch.add(value);
+        }
+    }
+
+    // Distribution of final values and the matching annual growth rates
+    public static final class Result {
+        private final double initialInvestment;
+        private final int periods;
+        private final QuantileSketch finalValues;
+
+        Result(double initialInvestment, int periods, QuantileSketch finalValues) {
+            this.initialInvestment = initialInvestment;
+            this.periods = periods;
+            this.finalValues = finalValues;
+        }
+
+        public long getPaths() {
+            return finalValues.count();
+        }
+
+        public double finalValuePercentile(double percentile) {
+            return finalValues.quantile(percentile / 100.0);
+        }
+
+        // CAGR is increasing in the final value, so its percentiles follow directly
+        public double cagrPercentile(double percentile) {
+            return FinancialForecaster.calculateCAGR(initialInvestment, finalValuePercentile(percentile), periods);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+// Streaming quantile sketch with bounded relative error
+// Positive values go into logarithmic buckets, so any reported quantile is within
+// relativeAccuracy of a true sample value; zero and negative values are counted apart.
+// Sketches built on different threads can be merged.
+import java.util.Arrays;
+
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    // counts[i] holds values whose bucket index is offset + i
+    private long[] counts = new long[0];
+    private int offset;
+    private long nonPositiveCount;
+    private long totalCount;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value <= 0) {
+            nonPositiveCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index);
+        counts[index - offset]++;
+    }
+
+    // Fold another sketch with the same accuracy into this one
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Sketches must have the same accuracy");
+        }
+        if (other.totalCount == 0) {
+            return;
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset);
+            ensureCapacity(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        nonPositiveCount += other.nonPositiveCount;
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Value at quantile q (0.0 - 1.0); non-positive values are reported as the minimum seen
+    public double quantile(double q) {
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long rank = (long) (q * (totalCount - 1));
+        if (rank < nonPositiveCount) {
+            return Math.min(min, 0);
+        }
+        long seen = nonPositiveCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Midpoint of the bucket (gamma^(k-1), gamma^k] in relative terms
+                double value = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = index - 8;
+        } else if (index < offset) {
+            int shift = Math.max(offset - index, counts.length / 2);
+            long[] grown = new long[counts.length + shift];
+            System.arraycopy(counts, 0, grown, shift, counts.length);
+            counts = grown;
+            offset -= shift;
+        } else if (index >= offset + counts.length) {
+            int needed = index - offset + 1;
+            counts = Arrays.copyOf(counts, Math.max(needed, counts.length + counts.length / 2));
+        }
+    }
+}
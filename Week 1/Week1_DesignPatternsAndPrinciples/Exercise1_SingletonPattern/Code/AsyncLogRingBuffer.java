@@ -0,0 +1,251 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Preallocated multi-producer, single-consumer ring buffer for log events
+// Producers claim a slot with one CAS and publish it; a single consumer thread
+// hands events to the handler in order, so formatting and I/O stay off the callers
+public class AsyncLogRingBuffer {
+
+    // How the consumer waits when the buffer is empty
+    public enum WaitStrategy {
+        BUSY_SPIN,  // Lowest latency, burns a core
+        YIELDING,   // Spin, then Thread.yield()
+        SLEEPING    // Spin, yield, then park briefly - lowest CPU use
+    }
+
+    // What producers do when the buffer is full
+    public enum BackpressurePolicy {
+        BLOCK,      // Wait for space - nothing is lost
+        DROP,       // Discard the new event
+        SAMPLE      // Past 75% full keep 1 in sampleRate events below WARN; drop when full
+    }
+
+    // Receives events on the consumer thread
+    public interface EventHandler {
+        void onEvent(Logger.LogLevel level, long timestampMillis, String message, boolean endOfBatch);
+    }
+
+    private static final long EMPTY = -1;
+    // Stored in claimed once shutdown() has drained the ring; no further slot can be claimed
+    private static final long TERMINATED = Long.MAX_VALUE;
+
+    private final int capacity;
+    private final int mask;
+    private final Logger.LogLevel[] levels;
+    private final long[] timestamps;
+    private final String[] messages;
+    private final AtomicLongArray published;   // Sequence stored in each slot once it is readable
+
+    private final AtomicLong claimed = new AtomicLong();   // Next sequence to hand to a producer
+    private final AtomicLong consumed = new AtomicLong();  // Next sequence the consumer will read
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private final WaitStrategy waitStrategy;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int sampleRate;
+    private final EventHandler handler;
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    // capacity is rounded up to a power of two
+    public AsyncLogRingBuffer(int capacity, WaitStrategy waitStrategy, BackpressurePolicy backpressurePolicy,
+                              int sampleRate, EventHandler handler) {
+        if (capacity <= 0 || sampleRate <= 0) {
+            throw new IllegalArgumentException("Capacity and sample rate must be positive");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.levels = new Logger.LogLevel[this.capacity];
+        this.timestamps = new long[this.capacity];
+        this.messages = new String[this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, EMPTY);
+        }
+        this.waitStrategy = waitStrategy;
+        this.backpressurePolicy = backpressurePolicy;
+        this.sampleRate = sampleRate;
+        this.handler = handler;
+
+        this.consumer = new Thread(this::consume, "async-logger");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    // Returns false if the event was dropped. Once the buffer is shutting down, or its
+    // consumer has died, the event is handed to the handler on the caller's thread instead.
+    public boolean publish(Logger.LogLevel level, long timestampMillis, String message) {
+        if (!running) {
+            return handleDirectly(level, timestampMillis, message);
+        }
+        if (backpressurePolicy == BackpressurePolicy.SAMPLE
+                && level.ordinal() < Logger.LogLevel.WARN.ordinal()
+                && getPendingCount() >= capacity - capacity / 4
+                && sampleCounter.getAndIncrement() % sampleRate != 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        long sequence;
+        int idle = 0;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence == TERMINATED) {
+                return handleDirectly(level, timestampMillis, message);
+            }
+            if (sequence - consumed.get() >= capacity) {
+                if (backpressurePolicy != BackpressurePolicy.BLOCK) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                // Nobody will make room once the consumer is stopping or gone
+                if (!running || !consumer.isAlive()) {
+                    return handleDirectly(level, timestampMillis, message);
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        // A claimed slot is always published: the consumer or shutdown() waits for it
+        int index = (int) sequence & mask;
+        levels[index] = level;
+        timestamps[index] = timestampMillis;
+        messages[index] = message;
+        published.set(index, sequence); // Volatile write makes the fields above visible
+        return true;
+    }
+
+    // Wait until everything published so far has been handled
+    public void flush() {
+        long target = claimed.get();
+        int idle = 0;
+        while (consumed.get() < target && consumer.isAlive()) {
+            idle = backOff(idle);
+        }
+    }
+
+    // Handle what is already queued, then stop the consumer thread. Events claimed by
+    // producers that raced with shutdown are handled here, on the caller's thread.
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
+        boolean interrupted = false;
+        while (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        long end = claimed.getAndSet(TERMINATED);
+        if (end == TERMINATED) {
+            return; // Already shut down
+        }
+        int idle = 0;
+        for (long sequence = consumed.get(); sequence < end; sequence++) {
+            int slot = (int) sequence & mask;
+            while (published.get(slot) != sequence) {
+                idle = backOff(idle);
+            }
+            String message = messages[slot];
+            messages[slot] = null;
+            handle(levels[slot], timestamps[slot], message, sequence == end - 1);
+        }
+        consumed.set(end);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getPendingCount() {
+        long claimedSequence = claimed.get();
+        return claimedSequence == TERMINATED ? 0 : claimedSequence - consumed.get();
+    }
+
+    private void consume() {
+        long next = consumed.get();
+        int idle = 0;
+        while (true) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                if (!running && claimed.get() == next) {
+                    return; // Drained
+                }
+                idle = waitForEvent(idle);
+                continue;
+            }
+            idle = 0;
+
+            // Hand over every event already published, marking the last of the batch
+            long available = next;
+            while (published.get((int) (available + 1) & mask) == available + 1) {
+                available++;
+            }
+            for (long sequence = next; sequence <= available; sequence++) {
+                int slot = (int) sequence & mask;
+                String message = messages[slot];
+                messages[slot] = null; // Don't keep the message alive until the slot is reused
+                handle(levels[slot], timestamps[slot], message, sequence == available);
+            }
+            next = available + 1;
+            consumed.set(next);
+        }
+    }
+
+    private boolean handleDirectly(Logger.LogLevel level, long timestampMillis, String message) {
+        handle(level, timestampMillis, message, true);
+        return true;
+    }
+
+    private void handle(Logger.LogLevel level, long timestampMillis, String message, boolean endOfBatch) {
+        try {
+            handler.onEvent(level, timestampMillis, message, endOfBatch);
+        } catch (RuntimeException e) {
+            // A failing sink must not stop the consumer
+            System.err.println("Async logger handler failed: " + e);
+        }
+    }
+
+    private int waitForEvent(int idle) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                return idle;
+            case YIELDING:
+                if (idle < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                return idle + 1;
+            default:
+                return backOff(idle);
+        }
+    }
+
+    // Spin, then yield, then park for a short while
+    private static int backOff(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(100_000);
+        }
+        return idle + 1;
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Compares text and binary file logging through the Logger: bytes per record, records/s,
+// and checks that the decoded binary log reads the same as the text log
+// Run: java BinaryLogBenchmark [records]   (defaults to 1M records)
+public class BinaryLogBenchmark {
+
+    private static final String CATEGORY = "bench.orders";
+    private static final int TIMESTAMP_PREFIX = 26; // "[yyyy-MM-dd HH:mm:ss.SSS] "
+    private static final String[] ORDER_IDS = new String[1024];
+
+    static {
+        for (int i = 0; i < ORDER_IDS.length; i++) {
+            ORDER_IDS[i] = "O-" + (100_000 + i);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+
+        Logger logger = Logger.getInstance();
+        logger.enableConsoleOutput(false);
+        logger.enableHistory(false);
+        CategoryLogger orders = Logger.get(CATEGORY);
+
+        Path directory = Files.createTempDirectory("binary-log-bench");
+        try {
+            // Text: every record is formatted and written as a UTF-8 line
+            LogFileAppender text = new LogFileAppender(directory, "text", Long.MAX_VALUE, Long.MAX_VALUE,
+                                                       256 << 10, LogFileAppender.FsyncPolicy.NONE, 1000);
+            logger.setFileAppender(text);
+            logger.enableFileLogging(true);
+            logRecords(orders, records / 10); // Warm up
+            long textBefore = text.getTotalBytes();
+            long textNanos = logRecords(orders, records);
+            logger.flush();
+            long textBytes = text.getTotalBytes() - textBefore;
+            logger.enableFileLogging(false);
+
+            // Binary: template ids and typed arguments, no formatting on the logging path
+            BinaryLogWriter warmUp = new BinaryLogWriter(directory, "warmup", Long.MAX_VALUE, Long.MAX_VALUE,
+                                                         LogFileAppender.FsyncPolicy.NONE);
+            logger.enableBinaryLogging(warmUp);
+            logRecords(orders, records / 10);
+            BinaryLogWriter binary = new BinaryLogWriter(directory, "binary", Long.MAX_VALUE, Long.MAX_VALUE,
+                                                         LogFileAppender.FsyncPolicy.NONE);
+            logger.enableBinaryLogging(binary);
+            long binaryBefore = binary.getByteCount();
+            long binaryNanos = logRecords(orders, records);
+            logger.flush();
+            long binaryBytes = binary.getByteCount() - binaryBefore;
+            logger.disableBinaryLogging();
+
+            System.out.printf("=== TEXT VS BINARY FILE LOGGING, %,d RECORDS ===\n", records);
+            System.out.printf("%-8s %12s %14s %12s\n", "Format", "bytes/rec", "records/s", "file MB");
+            System.out.printf("%-8s %12.1f %,14.0f %12.1f\n", "text",
+                              (double) textBytes / records, records / (textNanos / 1e9), textBytes / 1e6);
+            System.out.printf("%-8s %12.1f %,14.0f %12.1f\n", "binary",
+                              (double) binaryBytes / records, records / (binaryNanos / 1e9), binaryBytes / 1e6);
+            System.out.printf("Binary is %.1f%% of the text size\n", 100.0 * binaryBytes / textBytes);
+
+            // Decode and compare with the text log, ignoring the timestamps
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            long decodeStart = System.nanoTime();
+            long decodedRecords;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(binary.getActiveFile()), 1 << 16);
+                 PrintStream out = new PrintStream(decoded, false, StandardCharsets.UTF_8)) {
+                decodedRecords = BinaryLogDecoder.decode(in, out);
+            }
+            long decodeNanos = System.nanoTime() - decodeStart;
+            System.out.printf("Decoded %,d records at %,.0f records/s\n", decodedRecords,
+                              decodedRecords / (decodeNanos / 1e9));
+
+            List<String> textLines = benchmarkLines(Files.readAllLines(text.getActiveFile(), StandardCharsets.UTF_8));
+            List<String> binaryLines = benchmarkLines(List.of(decoded.toString(StandardCharsets.UTF_8).split("\n")));
+            // The text file also holds the warm-up records
+            textLines = textLines.subList(textLines.size() - records, textLines.size());
+            boolean same = binaryLines.size() == records;
+            for (int i = 0; same && i < records; i++) {
+                same = textLines.get(i).substring(TIMESTAMP_PREFIX).equals(binaryLines.get(i).substring(TIMESTAMP_PREFIX));
+            }
+            System.out.println("Decoded output matches the text log: " + (same ? "yes" : "NO"));
+            text.close();
+        } finally {
+            deleteFiles(directory);
+            Files.deleteIfExists(directory);
+            logger.enableConsoleOutput(true);
+            logger.enableHistory(true);
+        }
+    }
+
+    // A typical mix: two objects, a long, a double and a plain message
+    private static long logRecords(CategoryLogger orders, int records) {
+        long start = System.nanoTime();
+        for (int i = 0; i < records; i++) {
+            switch (i & 3) {
+                case 0:
+                    orders.info("order {} accepted for customer {}", ORDER_IDS[i & 1023], i & 4095);
+                    break;
+                case 1:
+                    orders.info("payment authorized, {} items", (long) i);
+                    break;
+                case 2:
+                    orders.warn("slow inventory lookup: {} ms", i * 0.25);
+                    break;
+                default:
+                    orders.info("order batch checkpoint");
+                    break;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<String> benchmarkLines(List<String> lines) {
+        List<String> result = new ArrayList<>();
+        for (String line : lines) {
+            if (line.contains("[" + CATEGORY + "]")) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    private static void deleteFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
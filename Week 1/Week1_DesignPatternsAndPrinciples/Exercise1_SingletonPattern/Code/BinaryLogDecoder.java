@@ -0,0 +1,182 @@
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// Renders binary log files written by BinaryLogWriter as the usual text lines
+// Run: java BinaryLogDecoder <file>...   (files are decoded in the order given)
+public class BinaryLogDecoder {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final Logger.LogLevel[] LEVELS = Logger.LogLevel.values();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java BinaryLogDecoder <file>...");
+            return;
+        }
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        long records = 0;
+        for (String file : args) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(file)), 1 << 16)) {
+                records += decode(in, out);
+            }
+        }
+        out.flush();
+        System.err.println(records + " records decoded");
+    }
+
+    // Decode one stream, printing a line per record; returns the number of records
+    public static long decode(InputStream in, PrintStream out) throws IOException {
+        List<String> strings = new ArrayList<>();
+        long lastTimestamp = 0;
+        long records = 0;
+        StringBuilder line = new StringBuilder(256);
+        long formattedMillis = Long.MIN_VALUE;
+        String formatted = null;
+
+        int tag;
+        while ((tag = in.read()) >= 0) {
+            switch (tag) {
+                case BinaryLogWriter.FILE_START:
+                    if (in.read() != 'L' || in.read() != 'O' || in.read() != 'G') {
+                        throw new IOException("Not a binary log file");
+                    }
+                    int version = in.read();
+                    if (version != BinaryLogWriter.VERSION) {
+                        throw new IOException("Unsupported binary log version " + version);
+                    }
+                    strings.clear();
+                    lastTimestamp = 0;
+                    break;
+                case BinaryLogWriter.STRING:
+                    int id = (int) readVarLong(in);
+                    String text = readString(in);
+                    while (strings.size() <= id) {
+                        strings.add(null);
+                    }
+                    strings.set(id, text);
+                    break;
+                case BinaryLogWriter.RECORD:
+                    lastTimestamp += unzigzag(readVarLong(in));
+                    Logger.LogLevel level = LEVELS[readByte(in)];
+                    int categoryId = (int) readVarLong(in);
+                    int templateId = (int) readVarLong(in);
+                    int argCount = readByte(in);
+                    Object[] arguments = new Object[argCount];
+                    for (int i = 0; i < argCount; i++) {
+                        arguments[i] = readArgument(in);
+                    }
+
+                    // Records of the same millisecond share the formatted timestamp
+                    if (lastTimestamp != formattedMillis) {
+                        formatted = TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(lastTimestamp), ZoneId.systemDefault()));
+                        formattedMillis = lastTimestamp;
+                    }
+                    line.setLength(0);
+                    line.append('[').append(formatted).append("] ").append(level.getName()).append(": ");
+                    if (categoryId != 0) {
+                        line.append('[').append(lookup(strings, categoryId)).append("] ");
+                    }
+                    String template = templateId == BinaryLogWriter.PLAIN_MESSAGE ? "{}" : lookup(strings, templateId);
+                    render(line, template, arguments);
+                    out.println(line);
+                    records++;
+                    break;
+                default:
+                    throw new IOException("Corrupt binary log: unknown tag " + tag);
+            }
+        }
+        return records;
+    }
+
+    // Same substitution as Logger: each "{}" takes the next argument, extra ones stay literal
+    private static void render(StringBuilder line, String template, Object[] arguments) {
+        int from = 0;
+        for (Object argument : arguments) {
+            int placeholder = template.indexOf("{}", from);
+            if (placeholder < 0) {
+                break;
+            }
+            line.append(template, from, placeholder).append(argument);
+            from = placeholder + 2;
+        }
+        line.append(template, from, template.length());
+    }
+
+    private static Object readArgument(InputStream in) throws IOException {
+        int type = readByte(in);
+        switch (type) {
+            case BinaryLogWriter.ARG_NULL:
+                return null;
+            case BinaryLogWriter.ARG_LONG:
+                return unzigzag(readVarLong(in));
+            case BinaryLogWriter.ARG_DOUBLE:
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits |= (long) readByte(in) << (8 * i);
+                }
+                return Double.longBitsToDouble(bits);
+            case BinaryLogWriter.ARG_STRING:
+                return readString(in);
+            case BinaryLogWriter.ARG_TRUE:
+                return Boolean.TRUE;
+            case BinaryLogWriter.ARG_FALSE:
+                return Boolean.FALSE;
+            default:
+                throw new IOException("Corrupt binary log: unknown argument type " + type);
+        }
+    }
+
+    private static String lookup(List<String> strings, int id) throws IOException {
+        if (id >= strings.size() || strings.get(id) == null) {
+            throw new IOException("Corrupt binary log: undefined string " + id);
+        }
+        return strings.get(id);
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        int length = (int) readVarLong(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated binary log");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int value = in.read();
+        if (value < 0) {
+            throw new EOFException("Truncated binary log");
+        }
+        return value;
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt binary log: varint too long");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
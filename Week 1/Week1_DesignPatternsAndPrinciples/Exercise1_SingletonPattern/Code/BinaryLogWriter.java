@@ -0,0 +1,364 @@
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Compact binary log records instead of formatted text
+// Each record holds the timestamp as a varint delta from the previous record, the level,
+// and the id of an interned message template plus its typed arguments. A template's text
+// is written once per file, the first time it is used. Read the files with BinaryLogDecoder.
+//
+// Layout (varints are unsigned LEB128, signed values zigzag-encoded first):
+//   file start  'B' 'L' 'O' 'G' version           - state resets here
+//   string      0x01 id:varint length:varint utf8 - template or category text
+//   record      0x02 deltaMillis:zigzag level:byte category:varint (0 = none)
+//               template:varint (0 = plain message "{}") argCount:byte args...
+//   argument    0x00 null | 0x01 long:zigzag | 0x02 double:8 bytes LE
+//               | 0x03 length:varint utf8 | 0x04 true | 0x05 false
+public class BinaryLogWriter implements AutoCloseable {
+
+    static final int VERSION = 1;
+    static final int FILE_START = 'B';
+    static final int STRING = 0x01;
+    static final int RECORD = 0x02;
+
+    static final int ARG_NULL = 0x00;
+    static final int ARG_LONG = 0x01;
+    static final int ARG_DOUBLE = 0x02;
+    static final int ARG_STRING = 0x03;
+    static final int ARG_TRUE = 0x04;
+    static final int ARG_FALSE = 0x05;
+
+    // Template id 0 is the implicit "{}" used for plain messages
+    static final int PLAIN_MESSAGE = 0;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LogFileAppender appender;
+    private final long maxFileBytes;
+    private final long rotationIntervalMillis;
+
+    // Interned templates and category names; ids stay fixed for the writer's lifetime
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final BitSet definedInFile = new BitSet();
+    // Strings defined in the record being built; marked defined once the record is appended
+    private int[] newIds = new int[2];
+    private int newIdCount;
+
+    private byte[] buffer = new byte[512];
+    private int length;
+    private long lastTimestamp;
+    private long recordTimestamp;
+    private long fileBytes;
+    private long fileOpenedAt;
+    private long records;
+    private long bytes;
+    private boolean closed;
+
+    // 64 MB files, rotated daily
+    public BinaryLogWriter(Path directory, String baseName) {
+        this(directory, baseName, 64L << 20, 24L * 60 * 60 * 1000, LogFileAppender.FsyncPolicy.INTERVAL);
+    }
+
+    public BinaryLogWriter(Path directory, String baseName, long maxFileBytes, long rotationIntervalMillis,
+                           LogFileAppender.FsyncPolicy fsyncPolicy) {
+        if (maxFileBytes <= 0 || rotationIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sizes and intervals must be positive");
+        }
+        this.maxFileBytes = maxFileBytes;
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        // The writer decides when to roll over, so every file starts with a file-start marker
+        this.appender = new LogFileAppender(directory, baseName, Long.MAX_VALUE, Long.MAX_VALUE,
+                                            256 << 10, fsyncPolicy, 1000);
+        lock.lock();
+        try {
+            startFile();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getActiveFile() {
+        return appender.getActiveFile();
+    }
+
+    // Plain message, stored as one string argument of the "{}" template
+    public void write(String category, Logger.LogLevel level, long timestampMillis, CharSequence message) {
+        lock.lock();
+        try {
+            beginRecord(category, level, timestampMillis, null, 1);
+            putByte(ARG_STRING);
+            putString(message);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(String category, Logger.LogLevel level, long timestampMillis, String pattern, Object arg) {
+        lock.lock();
+        try {
+            beginRecord(category, level, timestampMillis, pattern, 1);
+            putArgument(arg);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(String category, Logger.LogLevel level, long timestampMillis, String pattern,
+                      Object arg1, Object arg2) {
+        lock.lock();
+        try {
+            beginRecord(category, level, timestampMillis, pattern, 2);
+            putArgument(arg1);
+            putArgument(arg2);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(String category, Logger.LogLevel level, long timestampMillis, String pattern, long arg) {
+        lock.lock();
+        try {
+            beginRecord(category, level, timestampMillis, pattern, 1);
+            putByte(ARG_LONG);
+            putVarLong(zigzag(arg));
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(String category, Logger.LogLevel level, long timestampMillis, String pattern, double arg) {
+        lock.lock();
+        try {
+            beginRecord(category, level, timestampMillis, pattern, 1);
+            putByte(ARG_DOUBLE);
+            putDouble(arg);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        appender.flush();
+    }
+
+    // Writes after close fail with IllegalStateException
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            appender.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordCount() {
+        lock.lock();
+        try {
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Bytes written, including file-start markers and template definitions
+    public long getByteCount() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A null pattern means a plain message. Definitions of strings not yet seen in this
+    // file go in front of the record. Nothing changes state until endRecord(), so a record
+    // abandoned halfway (an argument's toString() or the append failing) leaves no trace.
+    private void beginRecord(String category, Logger.LogLevel level, long timestampMillis,
+                             String pattern, int argCount) {
+        if (closed) {
+            throw new IllegalStateException("Binary log writer is closed");
+        }
+        if (fileBytes >= maxFileBytes || timestampMillis - fileOpenedAt >= rotationIntervalMillis) {
+            appender.rollOver();
+            startFile();
+        }
+        length = 0;
+        newIdCount = 0;
+        int categoryId = category == null ? 0 : intern(category);
+        int templateId = pattern == null ? PLAIN_MESSAGE : intern(pattern);
+        putByte(RECORD);
+        putVarLong(zigzag(timestampMillis - lastTimestamp));
+        putByte(level.ordinal());
+        putVarLong(categoryId);
+        putVarLong(templateId);
+        putByte(argCount);
+        recordTimestamp = timestampMillis;
+    }
+
+    private void endRecord() {
+        appender.append(buffer, 0, length);
+        for (int i = 0; i < newIdCount; i++) {
+            definedInFile.set(newIds[i]);
+        }
+        lastTimestamp = recordTimestamp;
+        fileBytes += length;
+        bytes += length;
+        records++;
+    }
+
+    private void startFile() {
+        length = 0;
+        putByte(FILE_START);
+        putByte('L');
+        putByte('O');
+        putByte('G');
+        putByte(VERSION);
+        appender.append(buffer, 0, length);
+        fileBytes = length;
+        bytes += length;
+        fileOpenedAt = System.currentTimeMillis();
+        lastTimestamp = 0;
+        definedInFile.clear();
+    }
+
+    private int intern(String text) {
+        Integer id = stringIds.get(text);
+        if (id == null) {
+            id = stringIds.size() + 1;
+            stringIds.put(text, id);
+        }
+        if (!definedInFile.get(id) && !isNewInRecord(id)) {
+            putByte(STRING);
+            putVarLong(id);
+            putString(text);
+            if (newIdCount == newIds.length) {
+                newIds = Arrays.copyOf(newIds, newIdCount * 2);
+            }
+            newIds[newIdCount++] = id;
+        }
+        return id;
+    }
+
+    // The category and the template may be the same string
+    private boolean isNewInRecord(int id) {
+        for (int i = 0; i < newIdCount; i++) {
+            if (newIds[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Numbers keep their type; other objects are written as their toString()
+    private void putArgument(Object arg) {
+        if (arg == null) {
+            putByte(ARG_NULL);
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            putByte(ARG_LONG);
+            putVarLong(zigzag(((Number) arg).longValue()));
+        } else if (arg instanceof Double || arg instanceof Float) {
+            putByte(ARG_DOUBLE);
+            putDouble(((Number) arg).doubleValue());
+        } else if (arg instanceof Boolean) {
+            putByte((Boolean) arg ? ARG_TRUE : ARG_FALSE);
+        } else if (arg instanceof CharSequence) {
+            putByte(ARG_STRING);
+            putString((CharSequence) arg);
+        } else {
+            putByte(ARG_STRING);
+            putString(String.valueOf(arg));
+        }
+    }
+
+    private void putByte(int value) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) value;
+    }
+
+    private void putVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void putDouble(double value) {
+        ensureCapacity(8);
+        long bits = Double.doubleToRawLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            buffer[length++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    // Length-prefixed UTF-8; the length is written after encoding, so reserve its bytes first
+    private void putString(CharSequence text) {
+        int chars = text.length();
+        ensureCapacity(5 + chars * 3);
+        int lengthAt = length;
+        length += varIntSize(chars * 3); // Upper bound on the encoded size
+        int start = length;
+        for (int i = 0; i < chars; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[length++] = (byte) '?';
+            } else {
+                buffer[length++] = (byte) (0xE0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        int encoded = length - start;
+        int reserved = start - lengthAt;
+        int needed = varIntSize(encoded);
+        if (needed < reserved) {
+            // Shift the text back over the unused length bytes
+            System.arraycopy(buffer, start, buffer, lengthAt + needed, encoded);
+            length -= reserved - needed;
+        }
+        int end = length;
+        length = lengthAt;
+        putVarLong(encoded);
+        length = end;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(length + extra, buffer.length * 2));
+        }
+    }
+
+    private static int varIntSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
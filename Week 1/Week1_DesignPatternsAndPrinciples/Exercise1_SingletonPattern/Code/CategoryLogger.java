@@ -0,0 +1,217 @@
+import java.util.function.Supplier;
+
+// Named logger for one part of the application, e.g. Logger.get("search.index")
+// Its level comes from the nearest configured ancestor ("search.index", then "search",
+// then the root level) and is precomputed into `threshold` whenever levels change, so a
+// disabled call costs one field read and a compare.
+public class CategoryLogger {
+
+    private final Logger owner;
+    private final String name;
+
+    // Lowest level ordinal that can be enabled here: the category's level, lowered
+    // further while some thread has a more verbose thread level. Written by Logger.
+    volatile int threshold;
+    // Level ordinal from the category hierarchy alone
+    volatile int configured;
+
+    CategoryLogger(Logger owner, String name) {
+        this.owner = owner;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Level inherited from the category hierarchy (thread levels not included)
+    public Logger.LogLevel getEffectiveLevel() {
+        return Logger.LogLevel.values()[configured];
+    }
+
+    // Exact check, including the calling thread's level if one is set
+    public boolean isEnabled(Logger.LogLevel level) {
+        int ordinal = level.ordinal();
+        if (ordinal < threshold) {
+            return false;
+        }
+        return owner.passesThreadLevel(ordinal, configured);
+    }
+
+    // Single-read checks for guarding expensive message construction. While any thread
+    // has a more verbose thread level they can return true for other threads too; the
+    // log call itself then does the exact check.
+    public boolean isDebugEnabled() {
+        return threshold <= 0;
+    }
+
+    public boolean isInfoEnabled() {
+        return threshold <= 1;
+    }
+
+    public boolean isWarnEnabled() {
+        return threshold <= 2;
+    }
+
+    public void log(Logger.LogLevel level, String message) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, message);
+        }
+    }
+
+    public void log(Logger.LogLevel level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, pattern, arg);
+        }
+    }
+
+    public void log(Logger.LogLevel level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, pattern, arg1, arg2);
+        }
+    }
+
+    public void log(Logger.LogLevel level, String pattern, long arg) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, pattern, arg);
+        }
+    }
+
+    public void log(Logger.LogLevel level, String pattern, double arg) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, pattern, arg);
+        }
+    }
+
+    public void log(Logger.LogLevel level, Supplier<String> messageSupplier) {
+        if (isEnabled(level)) {
+            owner.dispatch(name, level, messageSupplier.get());
+        }
+    }
+
+    // Convenience methods for each log level
+    public void debug(String message) {
+        log(Logger.LogLevel.DEBUG, message);
+    }
+
+    public void debug(String pattern, Object arg) {
+        log(Logger.LogLevel.DEBUG, pattern, arg);
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        log(Logger.LogLevel.DEBUG, pattern, arg1, arg2);
+    }
+
+    public void debug(String pattern, long arg) {
+        log(Logger.LogLevel.DEBUG, pattern, arg);
+    }
+
+    public void debug(String pattern, double arg) {
+        log(Logger.LogLevel.DEBUG, pattern, arg);
+    }
+
+    public void debug(Supplier<String> messageSupplier) {
+        log(Logger.LogLevel.DEBUG, messageSupplier);
+    }
+
+    public void info(String message) {
+        log(Logger.LogLevel.INFO, message);
+    }
+
+    public void info(String pattern, Object arg) {
+        log(Logger.LogLevel.INFO, pattern, arg);
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        log(Logger.LogLevel.INFO, pattern, arg1, arg2);
+    }
+
+    public void info(String pattern, long arg) {
+        log(Logger.LogLevel.INFO, pattern, arg);
+    }
+
+    public void info(String pattern, double arg) {
+        log(Logger.LogLevel.INFO, pattern, arg);
+    }
+
+    public void info(Supplier<String> messageSupplier) {
+        log(Logger.LogLevel.INFO, messageSupplier);
+    }
+
+    public void warn(String message) {
+        log(Logger.LogLevel.WARN, message);
+    }
+
+    public void warn(String pattern, Object arg) {
+        log(Logger.LogLevel.WARN, pattern, arg);
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        log(Logger.LogLevel.WARN, pattern, arg1, arg2);
+    }
+
+    public void warn(String pattern, long arg) {
+        log(Logger.LogLevel.WARN, pattern, arg);
+    }
+
+    public void warn(String pattern, double arg) {
+        log(Logger.LogLevel.WARN, pattern, arg);
+    }
+
+    public void warn(Supplier<String> messageSupplier) {
+        log(Logger.LogLevel.WARN, messageSupplier);
+    }
+
+    public void error(String message) {
+        log(Logger.LogLevel.ERROR, message);
+    }
+
+    public void error(String pattern, Object arg) {
+        log(Logger.LogLevel.ERROR, pattern, arg);
+    }
+
+    public void error(String pattern, Object arg1, Object arg2) {
+        log(Logger.LogLevel.ERROR, pattern, arg1, arg2);
+    }
+
+    public void error(String pattern, long arg) {
+        log(Logger.LogLevel.ERROR, pattern, arg);
+    }
+
+    public void error(String pattern, double arg) {
+        log(Logger.LogLevel.ERROR, pattern, arg);
+    }
+
+    public void error(Supplier<String> messageSupplier) {
+        log(Logger.LogLevel.ERROR, messageSupplier);
+    }
+
+    public void fatal(String message) {
+        log(Logger.LogLevel.FATAL, message);
+    }
+
+    public void fatal(String pattern, Object arg) {
+        log(Logger.LogLevel.FATAL, pattern, arg);
+    }
+
+    public void fatal(String pattern, Object arg1, Object arg2) {
+        log(Logger.LogLevel.FATAL, pattern, arg1, arg2);
+    }
+
+    public void fatal(String pattern, long arg) {
+        log(Logger.LogLevel.FATAL, pattern, arg);
+    }
+
+    public void fatal(String pattern, double arg) {
+        log(Logger.LogLevel.FATAL, pattern, arg);
+    }
+
+    public void fatal(Supplier<String> messageSupplier) {
+        log(Logger.LogLevel.FATAL, messageSupplier);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryLogger[" + name + ", " + getEffectiveLevel().getName() + "]";
+    }
+}
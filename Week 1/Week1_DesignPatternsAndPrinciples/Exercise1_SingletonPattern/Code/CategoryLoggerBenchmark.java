@@ -0,0 +1,115 @@
+// Cost of disabled log calls on category loggers, and how quickly level changes become visible
+// Run: java CategoryLoggerBenchmark [calls]   (defaults to 200M calls per case)
+import java.util.function.LongSupplier;
+
+public class CategoryLoggerBenchmark {
+
+    private static long sink; // Keeps the loop results alive
+
+    public static void main(String[] args) throws InterruptedException {
+        long calls = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 200_000_000L;
+
+        Logger logger = Logger.getInstance();
+        logger.enableConsoleOutput(false);
+        logger.setLogLevel(Logger.LogLevel.INFO);
+        logger.setLogLevel("search", Logger.LogLevel.WARN);
+        CategoryLogger index = Logger.get("search.index"); // Inherits WARN from "search"
+
+        System.out.printf("=== DISABLED LOG CALLS, %,d CALLS EACH ===\n", calls);
+        System.out.printf("search.index level: %s\n", index.getEffectiveLevel().getName());
+
+        for (int round = 0; round < 2; round++) { // The first round is warm-up
+            long empty = time(() -> {
+                long sum = 0;
+                for (long i = 0; i < calls; i++) {
+                    sum += i;
+                }
+                return sum;
+            });
+            long guard = time(() -> {
+                long sum = 0;
+                for (long i = 0; i < calls; i++) {
+                    if (index.isDebugEnabled()) {
+                        sum++;
+                    }
+                    sum += i;
+                }
+                return sum;
+            });
+            long parameterized = time(() -> {
+                long sum = 0;
+                for (long i = 0; i < calls; i++) {
+                    index.debug("Indexed {} documents", i);
+                    sum += i;
+                }
+                return sum;
+            });
+            long singleton = time(() -> {
+                long sum = 0;
+                for (long i = 0; i < calls; i++) {
+                    logger.debug("Indexed {} documents", i);
+                    sum += i;
+                }
+                return sum;
+            });
+            long concatenated = time(() -> {
+                long sum = 0;
+                for (long i = 0; i < calls / 20; i++) {
+                    index.debug("Indexed " + i + " documents");
+                    sum += i;
+                }
+                return sum;
+            });
+
+            if (round == 1) {
+                report("Empty loop", empty, calls);
+                report("isDebugEnabled() guard", guard, calls);
+                report("debug(pattern, long)", parameterized, calls);
+                report("Singleton debug(pattern, long)", singleton, calls);
+                report("debug(\"...\" + i) concatenation", concatenated, calls / 20);
+            }
+        }
+
+        // A reader spinning on isDebugEnabled() sees a level change from another thread
+        System.out.println("\n=== LEVEL CHANGE VISIBILITY ===");
+        long[] seenAt = new long[1];
+        Thread reader = new Thread(() -> {
+            while (!index.isDebugEnabled()) {
+                Thread.onSpinWait();
+            }
+            seenAt[0] = System.nanoTime();
+        });
+        reader.start();
+        Thread.sleep(100);
+        long changedAt = System.nanoTime();
+        logger.setLogLevel("search", Logger.LogLevel.DEBUG);
+        reader.join();
+        System.out.printf("Change seen by spinning reader after %.1f us (generation %d)\n",
+                          (seenAt[0] - changedAt) / 1000.0, logger.getLevelGeneration());
+
+        // Thread levels only affect the thread that sets them
+        logger.setLogLevel("search", Logger.LogLevel.WARN);
+        logger.setThreadLogLevel(Logger.LogLevel.DEBUG);
+        boolean[] otherThread = new boolean[1];
+        Thread other = new Thread(() -> otherThread[0] = index.isEnabled(Logger.LogLevel.DEBUG));
+        other.start();
+        other.join();
+        System.out.printf("With a DEBUG thread level: this thread %b, other thread %b\n",
+                          index.isEnabled(Logger.LogLevel.DEBUG), otherThread[0]);
+        logger.clearThreadLogLevel();
+        System.out.printf("After clearing it: this thread %b\n", index.isEnabled(Logger.LogLevel.DEBUG));
+
+        logger.clearLogLevel("search");
+        logger.enableConsoleOutput(true);
+    }
+
+    private static long time(LongSupplier task) {
+        long start = System.nanoTime();
+        sink += task.getAsLong();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, long nanos, long calls) {
+        System.out.printf("%-34s %8.2f ns/call\n", label + ":", (double) nanos / calls);
+    }
+}
@@ -0,0 +1,392 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Batched log file writer
+// Records are encoded into a direct ByteBuffer and written with one FileChannel call
+// per batch (group commit). The active file rolls over by size and age.
+public class LogFileAppender implements AutoCloseable {
+
+    // When written data is forced to disk
+    public enum FsyncPolicy {
+        NONE,        // Leave it to the OS; forced only on rotation and close
+        INTERVAL,    // Background thread forces every fsyncIntervalMillis
+        EVERY_BATCH  // Force after every batch write - slowest, nothing lost on power failure
+    }
+
+    private static final DateTimeFormatter ROTATION_FORMAT =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxFileBytes;
+    private final long rotationIntervalMillis;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer buffer;
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private long fileBytes;
+    private long fileOpenedAt;
+    private long lastFlushAt;
+    private boolean dirty;      // Written since the last force
+    private int rotationCounter;
+    private boolean closed;
+
+    private long totalBytes;
+    private long totalRecords;
+    private long totalBatches;
+    private long totalRotations;
+
+    // 64 MB files, rotated daily, 256 KB batches, forced once a second
+    public LogFileAppender(Path directory, String baseName) {
+        this(directory, baseName, 64L << 20, 24L * 60 * 60 * 1000, 256 << 10, FsyncPolicy.INTERVAL, 1000);
+    }
+
+    public LogFileAppender(Path directory, String baseName, long maxFileBytes, long rotationIntervalMillis,
+                           int batchBytes, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        if (maxFileBytes <= 0 || rotationIntervalMillis <= 0 || batchBytes <= 0 || fsyncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sizes and intervals must be positive");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxFileBytes = maxFileBytes;
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.buffer = ByteBuffer.allocateDirect(batchBytes);
+
+        try {
+            Files.createDirectories(directory);
+            openActiveFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open log file in " + directory, e);
+        }
+
+        // Pushes out quiet-period batches and handles interval fsync
+        this.flusher = new Thread(this::runFlusher, "log-file-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Path of the file currently being written
+    public Path getActiveFile() {
+        return directory.resolve(baseName + ".log");
+    }
+
+    // Append one line; a newline is added
+    public void appendLine(CharSequence text) {
+        lock.lock();
+        try {
+            ensureOpen();
+            int maxBytes = text.length() * 3 + 1; // UTF-8 worst case per char
+            if (buffer.remaining() < maxBytes) {
+                writeBatch();
+                if (buffer.capacity() < maxBytes) {
+                    // Larger than a whole batch - encode it on its own
+                    byte[] bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+                    appendRecord(bytes, 0, bytes.length);
+                    return;
+                }
+            }
+            int start = buffer.position();
+            encodeUtf8(text, buffer);
+            buffer.put((byte) '\n');
+            recordAppended(buffer.position() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Append raw bytes as one record - a record never spans two files
+    public void append(byte[] bytes, int offset, int length) {
+        lock.lock();
+        try {
+            ensureOpen();
+            appendRecord(bytes, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Write out the current batch (group commit point)
+    public void flush() {
+        lock.lock();
+        try {
+            if (!closed) {
+                writeBatch();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Write out the current batch and force it to disk unless the policy is NONE
+    // (a durability point, e.g. Logger.flush(); flush() is the cheap per-batch variant)
+    public void sync() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            writeBatch();
+            if (fsyncPolicy != FsyncPolicy.NONE && dirty) {
+                channel.force(false);
+                dirty = false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Close the active file now and continue in a new one
+    public void rollOver() {
+        lock.lock();
+        try {
+            ensureOpen();
+            buffer.flip();
+            writeFully();
+            buffer.clear();
+            rotate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            writeBatch();
+            channel.force(false);
+            channel.close();
+            closed = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        flusher.interrupt();
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalRecords() {
+        lock.lock();
+        try {
+            return totalRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBatches() {
+        lock.lock();
+        try {
+            return totalBatches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalRotations() {
+        lock.lock();
+        try {
+            return totalRotations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendRecord(byte[] bytes, int offset, int length) throws IOException {
+        if (buffer.remaining() < length) {
+            writeBatch();
+        }
+        if (length > buffer.capacity()) {
+            rotateIfNeeded(length);
+            ByteBuffer direct = ByteBuffer.wrap(bytes, offset, length);
+            while (direct.hasRemaining()) {
+                channel.write(direct);
+            }
+            fileBytes += length;
+            totalBytes += length;
+            totalRecords++;
+            dirty = true;
+            return;
+        }
+        buffer.put(bytes, offset, length);
+        recordAppended(length);
+    }
+
+    // Roll over before a record that would push the file past its size limit
+    private void recordAppended(int length) throws IOException {
+        totalRecords++;
+        long before = fileBytes + buffer.position() - length;
+        if (before + length > maxFileBytes && before > 0) {
+            // Write the earlier records to this file and move the new one to the next
+            buffer.flip();
+            buffer.limit(buffer.limit() - length);
+            writeFully();
+            buffer.limit(buffer.limit() + length);
+            buffer.compact();
+            rotate();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        if (buffer.position() == 0) {
+            rotateIfNeeded(0);
+            return;
+        }
+        rotateIfNeeded(buffer.position());
+        buffer.flip();
+        writeFully();
+        buffer.clear();
+        if (fsyncPolicy == FsyncPolicy.EVERY_BATCH) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    // Write buffer from position to limit
+    private void writeFully() throws IOException {
+        int length = buffer.remaining();
+        if (length == 0) {
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        fileBytes += length;
+        totalBytes += length;
+        totalBatches++;
+        lastFlushAt = System.currentTimeMillis();
+        dirty = true;
+    }
+
+    private void rotateIfNeeded(int incomingBytes) throws IOException {
+        boolean tooBig = fileBytes > 0 && fileBytes + incomingBytes > maxFileBytes;
+        boolean tooOld = System.currentTimeMillis() - fileOpenedAt >= rotationIntervalMillis;
+        if (tooBig || (tooOld && fileBytes > 0)) {
+            rotate();
+        }
+    }
+
+    // Close the active file, rename it with a timestamp and start a new one
+    private void rotate() throws IOException {
+        if (fsyncPolicy != FsyncPolicy.NONE || dirty) {
+            channel.force(false);
+        }
+        channel.close();
+        String stamp = ROTATION_FORMAT.format(LocalDateTime.now());
+        Path rotated = directory.resolve(baseName + "." + stamp + "." + (rotationCounter++) + ".log");
+        Files.move(getActiveFile(), rotated, StandardCopyOption.REPLACE_EXISTING);
+        totalRotations++;
+        openActiveFile();
+    }
+
+    private void openActiveFile() throws IOException {
+        channel = FileChannel.open(getActiveFile(), StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+        fileOpenedAt = System.currentTimeMillis();
+        lastFlushAt = fileOpenedAt;
+        dirty = false;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Log file appender is closed");
+        }
+    }
+
+    private void runFlusher() {
+        long lastForce = System.currentTimeMillis();
+        long tick = Math.min(200, fsyncIntervalMillis);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(tick);
+            } catch (InterruptedException e) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastFlushAt >= tick) {
+                    writeBatch();
+                }
+                if (fsyncPolicy == FsyncPolicy.INTERVAL && dirty && now - lastForce >= fsyncIntervalMillis) {
+                    channel.force(false);
+                    dirty = false;
+                    lastForce = now;
+                }
+            } catch (IOException e) {
+                System.err.println("Log file flush failed: " + e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // UTF-8 encode straight into the buffer, no intermediate byte[]
+    private static void encodeUtf8(CharSequence text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                       && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?'); // Unpaired surrogate
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Measures sustained throughput and append latency of LogFileAppender for each fsync policy
+// Run: java LogFileAppenderBenchmark [records]   (defaults to 2M records)
+public class LogFileAppenderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 2_000_000;
+
+        // Typical formatted log lines, about 90 bytes each
+        String[] lines = new String[1024];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = String.format("[2024-01-15 10:30:%02d.%03d] INFO: OrderService: order %d accepted for customer C%05d",
+                                     i % 60, i % 1000, 100_000 + i, i * 7);
+        }
+
+        System.out.printf("=== LOG FILE APPENDER, %,d RECORDS ===\n", records);
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %10s %9s\n",
+                          "Fsync", "MB/s", "p50 ns", "p99 ns", "p99.9 ns", "max us", "batches", "rotations");
+
+        for (LogFileAppender.FsyncPolicy policy : LogFileAppender.FsyncPolicy.values()) {
+            Path directory = Files.createTempDirectory("log-bench");
+            try {
+                run(directory, policy, lines, records / 10, false); // Warm up
+                deleteFiles(directory);
+                run(directory, policy, lines, records, true);
+            } finally {
+                deleteFiles(directory);
+                Files.deleteIfExists(directory);
+            }
+        }
+        System.out.println("\nThe old simulated file logging slept 1 ms per message (~1,000 messages/s).");
+    }
+
+    private static void run(Path directory, LogFileAppender.FsyncPolicy policy, String[] lines, int records,
+                            boolean report) {
+        long[] latencies = new long[records];
+        LogFileAppender appender = new LogFileAppender(directory, "bench", 64L << 20, 60_000,
+                                                       256 << 10, policy, 100);
+        long start = System.nanoTime();
+        for (int i = 0; i < records; i++) {
+            long before = System.nanoTime();
+            appender.appendLine(lines[i & (lines.length - 1)]);
+            latencies[i] = System.nanoTime() - before;
+        }
+        appender.close();
+        long elapsed = System.nanoTime() - start;
+
+        if (!report) {
+            return;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-12s %10.1f %10d %10d %10d %10.1f %10d %9d\n", policy,
+                          appender.getTotalBytes() / 1e6 / (elapsed / 1e9),
+                          percentile(latencies, 0.50), percentile(latencies, 0.99),
+                          percentile(latencies, 0.999), latencies[records - 1] / 1000.0,
+                          appender.getTotalBatches(), appender.getTotalRotations());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))];
+    }
+
+    private static void deleteFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+// Per-thread, reusable formatting buffers for Logger
+// Messages and lines are rendered into StringBuilders that live as long as the thread,
+// and the timestamp text is only rebuilt when the millisecond changes (the date part
+// once a minute), so formatting an enabled message allocates nothing once warmed up.
+// Doubles are written as fixed-point text with up to six decimals; only values Java would
+// print in E notation (below 0.001 or from 10^7 up) go through StringBuilder.append(double),
+// which allocates.
+final class LogFormatter {
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:");
+    private static final int MINUTE_LENGTH = 17;      // "yyyy-MM-dd HH:mm:"
+    private static final int TIMESTAMP_LENGTH = 23;   // "yyyy-MM-dd HH:mm:ss.SSS"
+    private static final int FRACTION_DIGITS = 6;
+    private static final long FRACTION_SCALE = 1_000_000L;
+
+    private static final byte[][] COLORS = new byte[Logger.LogLevel.values().length][];
+    private static final byte[] RESET = ascii("\u001B[0m");
+
+    static {
+        for (Logger.LogLevel level : Logger.LogLevel.values()) {
+            COLORS[level.ordinal()] = ascii(level.getColor());
+        }
+    }
+
+    private static final ThreadLocal<LogFormatter> CURRENT = ThreadLocal.withInitial(LogFormatter::new);
+
+    private final StringBuilder message = new StringBuilder(256);
+    private final StringBuilder line = new StringBuilder(320);
+    private final char[] timestamp = new char[TIMESTAMP_LENGTH];
+    private byte[] bytes = new byte[512];
+    private long cachedMinute = Long.MIN_VALUE;
+    private long cachedMillis = Long.MIN_VALUE;
+
+    private LogFormatter() {
+    }
+
+    static LogFormatter current() {
+        return CURRENT.get();
+    }
+
+    // Render a pattern with "{}" placeholders; placeholders without an argument stay as "{}"
+    CharSequence render(String pattern, Object a) {
+        message.setLength(0);
+        int position = appendLiteral(pattern, 0);
+        if (position >= 0) {
+            appendArgument(a);
+            appendRest(pattern, position);
+        }
+        return message;
+    }
+
+    CharSequence render(String pattern, Object a, Object b) {
+        message.setLength(0);
+        int position = appendLiteral(pattern, 0);
+        if (position >= 0) {
+            appendArgument(a);
+            position = appendLiteral(pattern, position);
+            if (position >= 0) {
+                appendArgument(b);
+                appendRest(pattern, position);
+            }
+        }
+        return message;
+    }
+
+    CharSequence render(String pattern, long a) {
+        message.setLength(0);
+        int position = appendLiteral(pattern, 0);
+        if (position >= 0) {
+            message.append(a);
+            appendRest(pattern, position);
+        }
+        return message;
+    }
+
+    CharSequence render(String pattern, double a) {
+        message.setLength(0);
+        int position = appendLiteral(pattern, 0);
+        if (position >= 0) {
+            appendDouble(a);
+            appendRest(pattern, position);
+        }
+        return message;
+    }
+
+    // "[timestamp] LEVEL: [category] message" in the reusable line buffer; category may be null
+    CharSequence formatLine(long timestampMillis, Logger.LogLevel level, String category, CharSequence text) {
+        updateTimestamp(timestampMillis);
+        line.setLength(0);
+        line.append('[').append(timestamp, 0, TIMESTAMP_LENGTH).append("] ")
+            .append(level.getName()).append(": ");
+        if (category != null) {
+            line.append('[').append(category).append("] ");
+        }
+        line.append(text);
+        return line;
+    }
+
+    // Print the last formatted line; ASCII lines go out as raw bytes without a String copy
+    void printLine(PrintStream out, Logger.LogLevel level, boolean colors) {
+        byte[] prefix = colors ? COLORS[level.ordinal()] : null;
+        int length = encodeAscii(prefix, colors ? RESET : null);
+        if (length >= 0) {
+            out.write(bytes, 0, length);
+        } else if (colors) {
+            out.println(level.getColor() + line + "\u001B[0m");
+        } else {
+            out.println(line);
+        }
+    }
+
+    // Appends pattern text up to the next "{}"; returns the index after it, or -1 if there is none
+    private int appendLiteral(String pattern, int from) {
+        int placeholder = pattern.indexOf("{}", from);
+        if (placeholder < 0) {
+            message.append(pattern, from, pattern.length());
+            return -1;
+        }
+        message.append(pattern, from, placeholder);
+        return placeholder + 2;
+    }
+
+    // Boxed numbers and char sequences are appended directly instead of through toString()
+    private void appendArgument(Object argument) {
+        if (argument instanceof CharSequence) {
+            message.append((CharSequence) argument);
+        } else if (argument instanceof Integer || argument instanceof Long
+                   || argument instanceof Short || argument instanceof Byte) {
+            message.append(((Number) argument).longValue());
+        } else if (argument instanceof Double || argument instanceof Float) {
+            appendDouble(((Number) argument).doubleValue());
+        } else {
+            message.append(argument);
+        }
+    }
+
+    // Sign, integer part and up to six decimals with trailing zeros dropped ("12.5", "3.0"),
+    // so the common range never goes through the allocating append(double)
+    private void appendDouble(double value) {
+        double magnitude = Math.abs(value);
+        if (Double.isNaN(value)) {
+            message.append("NaN");
+            return;
+        }
+        if (magnitude == Double.POSITIVE_INFINITY) {
+            message.append(value < 0 ? "-Infinity" : "Infinity");
+            return;
+        }
+        if (magnitude != 0 && (magnitude < 1e-3 || magnitude >= 1e7)) {
+            message.append(value);
+            return;
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            message.append('-');
+        }
+        long whole = (long) magnitude;
+        long fraction = Math.round((magnitude - whole) * FRACTION_SCALE);
+        if (fraction == FRACTION_SCALE) {
+            whole++;
+            fraction = 0;
+        }
+        message.append(whole).append('.');
+        if (fraction == 0) {
+            message.append('0');
+            return;
+        }
+        int digits = FRACTION_DIGITS;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (long limit = pow10(digits - 1); limit > fraction; limit /= 10) {
+            message.append('0');
+        }
+        message.append(fraction);
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private void appendRest(String pattern, int from) {
+        message.append(pattern, from, pattern.length());
+    }
+
+    private void updateTimestamp(long timestampMillis) {
+        if (timestampMillis == cachedMillis) {
+            return;
+        }
+        long minute = Math.floorDiv(timestampMillis, 60_000L);
+        if (minute != cachedMinute) {
+            String prefix = MINUTE_FORMAT.format(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault()));
+            prefix.getChars(0, MINUTE_LENGTH, timestamp, 0);
+            cachedMinute = minute;
+        }
+        int withinMinute = (int) Math.floorMod(timestampMillis, 60_000L);
+        int seconds = withinMinute / 1000;
+        int millis = withinMinute % 1000;
+        timestamp[17] = (char) ('0' + seconds / 10);
+        timestamp[18] = (char) ('0' + seconds % 10);
+        timestamp[19] = '.';
+        timestamp[20] = (char) ('0' + millis / 100);
+        timestamp[21] = (char) ('0' + millis / 10 % 10);
+        timestamp[22] = (char) ('0' + millis % 10);
+        cachedMillis = timestampMillis;
+    }
+
+    // prefix + line + suffix + newline into the byte buffer; -1 if the line is not pure ASCII
+    private int encodeAscii(byte[] prefix, byte[] suffix) {
+        int needed = line.length() + 1 + (prefix == null ? 0 : prefix.length) + (suffix == null ? 0 : suffix.length);
+        if (bytes.length < needed) {
+            bytes = new byte[Math.max(needed, bytes.length * 2)];
+        }
+        int length = 0;
+        if (prefix != null) {
+            System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+            length = prefix.length;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            bytes[length++] = (byte) c;
+        }
+        if (suffix != null) {
+            System.arraycopy(suffix, 0, bytes, length, suffix.length);
+            length += suffix.length;
+        }
+        bytes[length++] = (byte) '\n';
+        return length;
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] result = new byte[text.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) text.charAt(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,227 @@
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-capacity circular store of recent log entries
+// Writers claim a sequence number and fill a slot; readers never lock, they re-check the
+// slot's stamp after reading and skip entries overwritten in the meantime.
+//
+// Memory bound: about 61 bytes per slot however much is logged - 8 timestamp, 1 level,
+// 4-8 message reference, 8 stamp and 5 x 8 for the per-level index - plus the message
+// strings of at most `capacity` entries. 8,192 slots is roughly 500 KB of arrays.
+public class LogHistory {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final Logger.LogLevel[] LEVELS = Logger.LogLevel.values();
+    private static final long WRITING = Long.MIN_VALUE;
+
+    // One immutable log entry
+    public static final class Entry {
+        private final long sequence;
+        private final long timestampMillis;
+        private final Logger.LogLevel level;
+        private final String message;
+
+        Entry(long sequence, long timestampMillis, Logger.LogLevel level, String message) {
+            this.sequence = sequence;
+            this.timestampMillis = timestampMillis;
+            this.level = level;
+            this.message = message;
+        }
+
+        public long getSequence() { return sequence; }
+        public long getTimestampMillis() { return timestampMillis; }
+        public Logger.LogLevel getLevel() { return level; }
+        public String getMessage() { return message; }
+
+        // Same layout as the console output
+        public String format() {
+            String timestamp = TIMESTAMP_FORMAT.format(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault()));
+            return "[" + timestamp + "] " + level.getName() + ": " + message;
+        }
+
+        @Override
+        public String toString() {
+            return format();
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final byte[] levels;
+    private final String[] messages;
+    // Sequence held by each slot, WRITING while it is being filled
+    private final AtomicLongArray stamps;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // Per-level secondary index: recent sequence numbers of each level
+    private final AtomicLongArray[] levelSequences;
+    private final AtomicLong[] levelNext;
+
+    // Entries before this sequence were cleared
+    private volatile long clearedBefore;
+
+    // capacity is rounded up to a power of two
+    public LogHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.timestamps = new long[this.capacity];
+        this.levels = new byte[this.capacity];
+        this.messages = new String[this.capacity];
+        this.stamps = new AtomicLongArray(this.capacity);
+        // Slot i starts out as if sequence i - capacity had been written there
+        for (int i = 0; i < this.capacity; i++) {
+            stamps.set(i, i - this.capacity);
+        }
+
+        this.levelSequences = new AtomicLongArray[LEVELS.length];
+        this.levelNext = new AtomicLong[LEVELS.length];
+        for (int l = 0; l < LEVELS.length; l++) {
+            levelSequences[l] = new AtomicLongArray(this.capacity);
+            levelNext[l] = new AtomicLong();
+        }
+    }
+
+    // Safe to call from any number of threads
+    public void add(Logger.LogLevel level, long timestampMillis, String message) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) sequence & mask;
+
+        // Wait for the writer one lap behind to finish with this slot (only contended on wrap)
+        while (stamps.get(index) != sequence - capacity) {
+            Thread.onSpinWait();
+        }
+        stamps.set(index, WRITING);
+        VarHandle.storeStoreFence(); // WRITING must be visible before the fields change
+        timestamps[index] = timestampMillis;
+        levels[index] = (byte) level.ordinal();
+        messages[index] = message;
+        stamps.set(index, sequence); // Publishes the fields written above
+
+        int l = level.ordinal();
+        long position = levelNext[l].getAndIncrement();
+        levelSequences[l].set((int) position & mask, sequence);
+    }
+
+    // The last n entries, oldest first
+    public List<Entry> last(int n) {
+        List<Entry> result = new ArrayList<>(Math.min(n, capacity));
+        long newest = nextSequence.get() - 1;
+        long oldest = oldestRetained(newest);
+        for (long sequence = newest; sequence >= oldest && result.size() < n; sequence--) {
+            Entry entry = read(sequence);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // Everything still retained, oldest first
+    public List<Entry> snapshot() {
+        return last(capacity);
+    }
+
+    // The last n entries of one level, oldest first - walks that level's index only
+    public List<Entry> byLevel(Logger.LogLevel level, int n) {
+        int l = level.ordinal();
+        AtomicLongArray index = levelSequences[l];
+        long newest = levelNext[l].get() - 1;
+        long oldest = Math.max(0, newest - capacity + 1);
+        long floor = clearedBefore;
+
+        List<Entry> result = new ArrayList<>();
+        for (long position = newest; position >= oldest && result.size() < n; position--) {
+            long sequence = index.get((int) position & mask);
+            if (sequence < floor) {
+                continue;
+            }
+            Entry entry = read(sequence);
+            // The main ring may already have reused the slot
+            if (entry != null && entry.level == level) {
+                result.add(entry);
+            }
+        }
+        // Concurrent writers can fill the index slightly out of order, and a position
+        // claimed but not yet filled still holds an older sequence
+        result.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        for (int i = result.size() - 1; i > 0; i--) {
+            if (result.get(i).sequence == result.get(i - 1).sequence) {
+                result.remove(i);
+            }
+        }
+        return result;
+    }
+
+    // Entries with fromMillis <= timestamp < toMillis, oldest first
+    // Scans the retained window, so the cost is bounded by the capacity
+    public List<Entry> byTimeRange(long fromMillis, long toMillis) {
+        List<Entry> result = new ArrayList<>();
+        long newest = nextSequence.get() - 1;
+        long oldest = oldestRetained(newest);
+        for (long sequence = oldest; sequence <= newest; sequence++) {
+            Entry entry = read(sequence);
+            if (entry != null && entry.timestampMillis >= fromMillis && entry.timestampMillis < toMillis) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    // Forget everything written so far; later entries are unaffected
+    public void clear() {
+        clearedBefore = nextSequence.get();
+    }
+
+    // Number of entries currently retained
+    public int size() {
+        long written = nextSequence.get();
+        return (int) Math.min(capacity, written - Math.min(written, clearedBefore));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Entries ever added, including overwritten ones
+    public long getTotalWritten() {
+        return nextSequence.get();
+    }
+
+    private long oldestRetained(long newest) {
+        return Math.max(clearedBefore, newest - capacity + 1);
+    }
+
+    // Returns null if the slot no longer (or not yet) holds this sequence
+    private Entry read(long sequence) {
+        if (sequence < 0) {
+            return null;
+        }
+        int index = (int) sequence & mask;
+        if (stamps.get(index) != sequence) {
+            return null;
+        }
+        long timestamp = timestamps[index];
+        byte level = levels[index];
+        String message = messages[index];
+        VarHandle.loadLoadFence(); // Field reads must complete before the stamp is checked again
+        if (stamps.get(index) != sequence) {
+            return null;
+        }
+        return new Entry(sequence, timestamp, LEVELS[level], message);
+    }
+}
@@ -1,8 +1,17 @@
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 // Singleton logger class - only one instance exists throughout the application
 // Thread-safe implementation using eager initialization
@@ -12,6 +21,13 @@ public class Logger {
     private static final DateTimeFormatter TIMESTAMP_FORMAT = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
     
+    // Level set for the calling thread only, null if none
+    private static final ThreadLocal<LogLevel> THREAD_LEVEL = new ThreadLocal<>();
+    
+    // Gives back the level count of a thread that ended without clearThreadLogLevel()
+    private static final Cleaner THREAD_LEVEL_CLEANER = Cleaner.create();
+    private static final ThreadLocal<ThreadLevelOwner> THREAD_LEVEL_OWNER = new ThreadLocal<>();
+    
     // Single instance created when class loads
     private static final Logger instance = new Logger();
     
@@ -36,21 +52,78 @@ public class Logger {
     }
     
     // Store log messages and settings
-    private final List<String> logHistory;
+    // Settings are volatile because the async consumer thread reads them too
+    private final LogHistory logHistory;
     private final ReentrantLock logLock;
-    private LogLevel currentLogLevel;
-    private boolean enableFileLogging;
-    private boolean enableConsoleColors;
+    private volatile LogLevel currentLogLevel;
+    private volatile boolean enableFileLogging;
+    private volatile boolean enableConsoleColors;
+    private volatile boolean enableConsoleOutput;
+    private volatile boolean enableHistory;
+    
+    // Destination for file logging, created on first enable - guarded by logLock
+    private LogFileAppender fileAppender;
+    
+    // Non-null while binary file logging is on; replaces the text file output.
+    // Swapped under logLock; a caller still holding a retired writer gets a counted failure.
+    private volatile BinaryLogWriter binaryWriter;
+    
+    // Writes that failed in the text or binary file output
+    private final LongAdder writeFailures = new LongAdder();
+    
+    // Non-null while async mode is on
+    private volatile AsyncLogRingBuffer asyncBuffer;
+    
+    // Most recent entries kept in memory; older ones are overwritten
+    private static final int HISTORY_CAPACITY = 8192;
+    
+    // Named category loggers and their configured levels. Level changes happen under
+    // levelLock: the new map is published, the generation bumped, then every category's
+    // threshold recomputed. A category created concurrently re-checks the generation.
+    private final ConcurrentHashMap<String, CategoryLogger> categories;
+    private final CategoryLogger rootCategory;
+    private final ReentrantLock levelLock;
+    private volatile Map<String, LogLevel> configuredLevels;
+    private volatile int levelGeneration;
+    
+    // Per-thread levels: how many threads use each level, and the most verbose of them
+    // that the category thresholds were last computed with - guarded by levelLock
+    private final int[] threadLevelCounts;
+    private int publishedThreadLevel = Integer.MAX_VALUE;
+    private volatile boolean threadLevelsActive;
     
-    private static final String RESET_COLOR = "\u001B[0m";
+    // Kept in THREAD_LEVEL_OWNER and registered once per thread with THREAD_LEVEL_CLEANER.
+    // It becomes unreachable when the thread has ended, and the cleaner then runs its
+    // release, which must not reference the owner.
+    private static final class ThreadLevelOwner {
+        private final ThreadLevelRelease release = new ThreadLevelRelease();
+    }
+    
+    private static final class ThreadLevelRelease implements Runnable {
+        // The thread's level as counted in threadLevelCounts - guarded by levelLock
+        private LogLevel level;
+        
+        @Override
+        public void run() {
+            instance.releaseThreadLevel(this);
+        }
+    }
 
     // Private constructor prevents creating multiple instances
     private Logger() {
-        logHistory = new ArrayList<>();
+        logHistory = new LogHistory(HISTORY_CAPACITY);
         logLock = new ReentrantLock();
         currentLogLevel = LogLevel.INFO;
+        categories = new ConcurrentHashMap<>();
+        levelLock = new ReentrantLock();
+        configuredLevels = Map.of("", LogLevel.INFO);
+        threadLevelCounts = new int[LogLevel.values().length];
+        rootCategory = new CategoryLogger(this, "");
+        applyLevels(rootCategory, configuredLevels, lowestThreadLevel());
         enableFileLogging = false;
         enableConsoleColors = true;
+        enableConsoleOutput = true;
+        enableHistory = true;
         
         System.out.println("Logger created at: " + 
                          TIMESTAMP_FORMAT.format(LocalDateTime.now()));
@@ -61,75 +134,597 @@ public class Logger {
         return instance;
     }
     
+    // Get the named logger for a dot-separated category such as "search.index"
+    public static CategoryLogger get(String category) {
+        return instance.category(category);
+    }
+    
+    private CategoryLogger category(String name) {
+        CategoryLogger existing = categories.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        CategoryLogger created = new CategoryLogger(this, name);
+        applyLevels(created, configuredLevels, lowestThreadLevel());
+        existing = categories.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        // If levels changed while we were computing, compute again from the new ones
+        int generation;
+        do {
+            generation = levelGeneration;
+            applyLevels(created, configuredLevels, lowestThreadLevel());
+        } while (generation != levelGeneration);
+        return created;
+    }
+    
     // Main logging method that handles different severity levels
     public void log(LogLevel level, String message) {
         // Skip if message level is below current threshold
-        if (level.ordinal() < currentLogLevel.ordinal()) {
+        if (isEnabled(level)) {
+            dispatch(null, level, message);
+        }
+    }
+    
+    // Parameterized logging: each "{}" in the pattern is replaced by the next argument.
+    // Nothing is formatted when the level is disabled, and on the synchronous path the
+    // message is rendered into per-thread buffers instead of new strings.
+    public void log(LogLevel level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            dispatch(null, level, pattern, arg);
+        }
+    }
+    
+    public void log(LogLevel level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            dispatch(null, level, pattern, arg1, arg2);
+        }
+    }
+    
+    // Primitive overloads avoid boxing the argument
+    public void log(LogLevel level, String pattern, long arg) {
+        if (isEnabled(level)) {
+            dispatch(null, level, pattern, arg);
+        }
+    }
+    
+    public void log(LogLevel level, String pattern, double arg) {
+        if (isEnabled(level)) {
+            dispatch(null, level, pattern, arg);
+        }
+    }
+    
+    // The supplier only runs when the level is enabled
+    public void log(LogLevel level, Supplier<String> messageSupplier) {
+        if (isEnabled(level)) {
+            dispatch(null, level, messageSupplier.get());
+        }
+    }
+    
+    // True if messages at this level are currently written (root level and thread level)
+    public boolean isEnabled(LogLevel level) {
+        return rootCategory.isEnabled(level);
+    }
+    
+    // Exact check once a category's threshold has passed
+    boolean passesThreadLevel(int ordinal, int configured) {
+        if (threadLevelsActive) {
+            LogLevel threadLevel = THREAD_LEVEL.get();
+            if (threadLevel != null) {
+                return ordinal >= threadLevel.ordinal();
+            }
+        }
+        return ordinal >= configured;
+    }
+    
+    // The dispatch methods take an already enabled message. category is null for messages
+    // logged on the singleton itself. Binary records keep the pattern and arguments; text is
+    // only rendered if some text output (console, history, text file) still wants it.
+    void dispatch(String category, LogLevel level, CharSequence message) {
+        long timestampMillis = System.currentTimeMillis();
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.write(category, level, timestampMillis, message);
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+        if (textWanted(binary)) {
+            dispatchText(category, level, timestampMillis, message);
+        }
+    }
+    
+    void dispatch(String category, LogLevel level, String pattern, Object arg) {
+        long timestampMillis = System.currentTimeMillis();
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.write(category, level, timestampMillis, pattern, arg);
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+        if (textWanted(binary)) {
+            dispatchText(category, level, timestampMillis, LogFormatter.current().render(pattern, arg));
+        }
+    }
+    
+    void dispatch(String category, LogLevel level, String pattern, Object arg1, Object arg2) {
+        long timestampMillis = System.currentTimeMillis();
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.write(category, level, timestampMillis, pattern, arg1, arg2);
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+        if (textWanted(binary)) {
+            dispatchText(category, level, timestampMillis, LogFormatter.current().render(pattern, arg1, arg2));
+        }
+    }
+    
+    void dispatch(String category, LogLevel level, String pattern, long arg) {
+        long timestampMillis = System.currentTimeMillis();
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.write(category, level, timestampMillis, pattern, arg);
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+        if (textWanted(binary)) {
+            dispatchText(category, level, timestampMillis, LogFormatter.current().render(pattern, arg));
+        }
+    }
+    
+    void dispatch(String category, LogLevel level, String pattern, double arg) {
+        long timestampMillis = System.currentTimeMillis();
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.write(category, level, timestampMillis, pattern, arg);
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+        if (textWanted(binary)) {
+            dispatchText(category, level, timestampMillis, LogFormatter.current().render(pattern, arg));
+        }
+    }
+    
+    private boolean textWanted(BinaryLogWriter binary) {
+        return binary == null || enableConsoleOutput || enableHistory;
+    }
+    
+    private void dispatchText(String category, LogLevel level, long timestampMillis, CharSequence message) {
+        // In async mode the caller only publishes; the consumer thread does the rest
+        AsyncLogRingBuffer buffer = asyncBuffer;
+        if (buffer != null) {
+            buffer.publish(level, timestampMillis,
+                           category == null ? message.toString() : "[" + category + "] " + message);
             return;
         }
+        write(category, level, timestampMillis, message);
+    }
+    
+    // Format and output one message. The line is built in this thread's buffers before
+    // taking the lock; with history off nothing is allocated here.
+    private void write(String category, LogLevel level, long timestampMillis, CharSequence message) {
+        LogFormatter formatter = LogFormatter.current();
+        CharSequence line = formatter.formatLine(timestampMillis, level, category, message);
         
         logLock.lock();
         try {
-            String timestamp = TIMESTAMP_FORMAT.format(LocalDateTime.now());
-            String formattedMessage = String.format("[%s] %s: %s", 
-                                                   timestamp, level.getName(), message);
-            
             // Print to console with colors if enabled
-            if (enableConsoleColors) {
-                System.out.println(level.getColor() + formattedMessage + RESET_COLOR);
-            } else {
-                System.out.println(formattedMessage);
+            if (enableConsoleOutput) {
+                formatter.printLine(System.out, level, enableConsoleColors);
             }
             
-            // Keep history of all messages
-            logHistory.add(formattedMessage);
-            
-            // Write to file if enabled
-            if (enableFileLogging) {
-                simulateFileLogging(formattedMessage);
+            // Keep recent messages in the bounded history (the one String kept per message)
+            if (enableHistory) {
+                logHistory.add(level, timestampMillis,
+                               category == null ? message.toString() : "[" + category + "] " + message);
             }
             
+            // Write to file if enabled (binary mode writes its own records instead)
+            if (enableFileLogging && fileAppender != null && binaryWriter == null) {
+                fileAppender.appendLine(line);
+            }
+        } catch (UncheckedIOException e) {
+            writeFailed("log file", e);
         } finally {
             logLock.unlock();
         }
     }
     
+    // A failing destination never throws into the logging call; the failure is counted
+    private void writeFailed(String destination, RuntimeException e) {
+        writeFailures.increment();
+        System.err.println("Failed to write " + destination + ": " + e.getMessage());
+    }
+    
+    // Called on the async consumer thread for each event
+    private void writeAsync(LogLevel level, long timestampMillis, String message, boolean endOfBatch) {
+        write(null, level, timestampMillis, message);
+        // One file write per consumer batch (group commit)
+        if (endOfBatch) {
+            logLock.lock();
+            try {
+                if (fileAppender != null) {
+                    fileAppender.flush();
+                }
+            } catch (UncheckedIOException e) {
+                writeFailed("log file", e);
+            } finally {
+                logLock.unlock();
+            }
+        }
+    }
+    
     // Convenience methods for each log level
     public void debug(String message) {
         log(LogLevel.DEBUG, message);
     }
     
+    public void debug(String pattern, Object arg) {
+        log(LogLevel.DEBUG, pattern, arg);
+    }
+    
+    public void debug(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, pattern, arg1, arg2);
+    }
+    
+    public void debug(String pattern, long arg) {
+        log(LogLevel.DEBUG, pattern, arg);
+    }
+    
+    public void debug(String pattern, double arg) {
+        log(LogLevel.DEBUG, pattern, arg);
+    }
+    
+    public void debug(Supplier<String> messageSupplier) {
+        log(LogLevel.DEBUG, messageSupplier);
+    }
+    
     public void info(String message) {
         log(LogLevel.INFO, message);
     }
     
+    public void info(String pattern, Object arg) {
+        log(LogLevel.INFO, pattern, arg);
+    }
+    
+    public void info(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.INFO, pattern, arg1, arg2);
+    }
+    
+    public void info(String pattern, long arg) {
+        log(LogLevel.INFO, pattern, arg);
+    }
+    
+    public void info(String pattern, double arg) {
+        log(LogLevel.INFO, pattern, arg);
+    }
+    
+    public void info(Supplier<String> messageSupplier) {
+        log(LogLevel.INFO, messageSupplier);
+    }
+    
     public void warn(String message) {
         log(LogLevel.WARN, message);
     }
     
+    public void warn(String pattern, Object arg) {
+        log(LogLevel.WARN, pattern, arg);
+    }
+    
+    public void warn(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.WARN, pattern, arg1, arg2);
+    }
+    
+    public void warn(String pattern, long arg) {
+        log(LogLevel.WARN, pattern, arg);
+    }
+    
+    public void warn(String pattern, double arg) {
+        log(LogLevel.WARN, pattern, arg);
+    }
+    
+    public void warn(Supplier<String> messageSupplier) {
+        log(LogLevel.WARN, messageSupplier);
+    }
+    
     public void error(String message) {
         log(LogLevel.ERROR, message);
     }
     
+    public void error(String pattern, Object arg) {
+        log(LogLevel.ERROR, pattern, arg);
+    }
+    
+    public void error(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, pattern, arg1, arg2);
+    }
+    
+    public void error(String pattern, long arg) {
+        log(LogLevel.ERROR, pattern, arg);
+    }
+    
+    public void error(String pattern, double arg) {
+        log(LogLevel.ERROR, pattern, arg);
+    }
+    
+    public void error(Supplier<String> messageSupplier) {
+        log(LogLevel.ERROR, messageSupplier);
+    }
+    
     public void fatal(String message) {
         log(LogLevel.FATAL, message);
     }
     
+    public void fatal(String pattern, Object arg) {
+        log(LogLevel.FATAL, pattern, arg);
+    }
+    
+    public void fatal(String pattern, Object arg1, Object arg2) {
+        log(LogLevel.FATAL, pattern, arg1, arg2);
+    }
+    
+    public void fatal(String pattern, long arg) {
+        log(LogLevel.FATAL, pattern, arg);
+    }
+    
+    public void fatal(String pattern, double arg) {
+        log(LogLevel.FATAL, pattern, arg);
+    }
+    
+    public void fatal(Supplier<String> messageSupplier) {
+        log(LogLevel.FATAL, messageSupplier);
+    }
+    
     // Default to info level for simple log() calls
     public void log(String message) {
         info(message);
     }
     
-    // Change minimum log level to show
+    // Change minimum log level to show (the root level, inherited by categories without their own)
     public void setLogLevel(LogLevel level) {
         this.currentLogLevel = level;
+        updateLevels("", level);
         info("Log level changed to: " + level.getName());
     }
     
-    // Toggle file logging on/off
+    // Set the level of a category and, unless they have their own, of its subcategories
+    public void setLogLevel(String category, LogLevel level) {
+        if (category.isEmpty()) {
+            setLogLevel(level);
+            return;
+        }
+        updateLevels(category, level);
+        info("Log level of " + category + " changed to: " + level.getName());
+    }
+    
+    // Make a category inherit its level again
+    public void clearLogLevel(String category) {
+        if (category.isEmpty()) {
+            throw new IllegalArgumentException("The root level cannot be cleared");
+        }
+        updateLevels(category, null);
+    }
+    
+    // Level for the calling thread only, in every category - e.g. DEBUG while handling
+    // one request. Call clearThreadLogLevel() in a finally block when done: a pooled thread
+    // keeps its level for every later task. A thread that ends with a level set gives it
+    // back once it is garbage collected. Setting the level the thread already has, or one
+    // that does not change the most verbose thread level, does not touch the categories.
+    public void setThreadLogLevel(LogLevel level) {
+        LogLevel previous = THREAD_LEVEL.get();
+        if (previous == level) {
+            return;
+        }
+        levelLock.lock();
+        try {
+            ThreadLevelOwner owner = THREAD_LEVEL_OWNER.get();
+            if (owner == null) {
+                owner = new ThreadLevelOwner();
+                THREAD_LEVEL_OWNER.set(owner);
+                THREAD_LEVEL_CLEANER.register(owner, owner.release);
+            }
+            if (previous != null) {
+                threadLevelCounts[previous.ordinal()]--;
+            }
+            threadLevelCounts[level.ordinal()]++;
+            owner.release.level = level;
+            THREAD_LEVEL.set(level);
+            publishThreadLevelChange();
+        } finally {
+            levelLock.unlock();
+        }
+    }
+    
+    public void clearThreadLogLevel() {
+        LogLevel previous = THREAD_LEVEL.get();
+        if (previous == null) {
+            return;
+        }
+        levelLock.lock();
+        try {
+            threadLevelCounts[previous.ordinal()]--;
+            THREAD_LEVEL_OWNER.get().release.level = null;
+            THREAD_LEVEL.remove();
+            publishThreadLevelChange();
+        } finally {
+            levelLock.unlock();
+        }
+    }
+    
+    // Runs on the cleaner thread for a thread that ended with its level still set
+    private void releaseThreadLevel(ThreadLevelRelease release) {
+        levelLock.lock();
+        try {
+            if (release.level != null) {
+                threadLevelCounts[release.level.ordinal()]--;
+                release.level = null;
+                publishThreadLevelChange();
+            }
+        } finally {
+            levelLock.unlock();
+        }
+    }
+    
+    // Caller holds levelLock. Thresholds only depend on the most verbose thread level.
+    private void publishThreadLevelChange() {
+        if (lowestThreadLevel() != publishedThreadLevel) {
+            publishLevels(configuredLevels);
+        }
+    }
+    
+    // Incremented on every level change
+    public int getLevelGeneration() {
+        return levelGeneration;
+    }
+    
+    private void updateLevels(String category, LogLevel level) {
+        levelLock.lock();
+        try {
+            Map<String, LogLevel> levels = new HashMap<>(configuredLevels);
+            if (level == null) {
+                levels.remove(category);
+            } else {
+                levels.put(category, level);
+            }
+            publishLevels(Map.copyOf(levels));
+        } finally {
+            levelLock.unlock();
+        }
+    }
+    
+    // Caller holds levelLock
+    private void publishLevels(Map<String, LogLevel> levels) {
+        configuredLevels = levels;
+        int lowestThreadLevel = lowestThreadLevel();
+        publishedThreadLevel = lowestThreadLevel;
+        threadLevelsActive = lowestThreadLevel < Integer.MAX_VALUE;
+        levelGeneration++;
+        applyLevels(rootCategory, levels, lowestThreadLevel);
+        for (CategoryLogger category : categories.values()) {
+            applyLevels(category, levels, lowestThreadLevel);
+        }
+    }
+    
+    private static void applyLevels(CategoryLogger category, Map<String, LogLevel> levels, int lowestThreadLevel) {
+        int configured = resolveLevel(category.getName(), levels).ordinal();
+        category.configured = configured;
+        category.threshold = Math.min(configured, lowestThreadLevel);
+    }
+    
+    // Nearest configured level: "a.b.c", then "a.b", then "a", then the root
+    private static LogLevel resolveLevel(String name, Map<String, LogLevel> levels) {
+        String current = name;
+        while (true) {
+            LogLevel level = levels.get(current);
+            if (level != null) {
+                return level;
+            }
+            int dot = current.lastIndexOf('.');
+            if (current.isEmpty()) {
+                return LogLevel.INFO;
+            }
+            current = dot < 0 ? "" : current.substring(0, dot);
+        }
+    }
+    
+    // Most verbose level any thread has set, or MAX_VALUE if none
+    private int lowestThreadLevel() {
+        for (int i = 0; i < threadLevelCounts.length; i++) {
+            if (threadLevelCounts[i] > 0) {
+                return i;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+    
+    // Toggle file logging on/off; disabling writes out and syncs what is buffered
+    // Enabling without setFileAppender writes to logs/application.log in the working directory
     public void enableFileLogging(boolean enable) {
-        this.enableFileLogging = enable;
-        info("File logging " + (enable ? "enabled" : "disabled"));
+        Path file = null;
+        logLock.lock();
+        try {
+            if (enable && fileAppender == null) {
+                fileAppender = new LogFileAppender(Paths.get("logs"), "application");
+            }
+            if (!enable && fileAppender != null) {
+                fileAppender.sync();
+            }
+            this.enableFileLogging = enable;
+            if (fileAppender != null) {
+                file = fileAppender.getActiveFile();
+            }
+        } finally {
+            logLock.unlock();
+        }
+        info("File logging " + (enable ? "enabled: " + file : "disabled"));
+    }
+    
+    // Write compact binary records (see BinaryLogWriter) instead of text lines to the file.
+    // Binary records are written on the calling thread, also in async mode.
+    public void enableBinaryLogging(BinaryLogWriter writer) {
+        logLock.lock();
+        try {
+            BinaryLogWriter previous = binaryWriter;
+            binaryWriter = writer;
+            if (previous != null && previous != writer) {
+                retire(previous);
+            }
+        } finally {
+            logLock.unlock();
+        }
+        info("Binary logging enabled: " + writer.getActiveFile());
+    }
+    
+    // Back to text file output; the binary writer is closed
+    public void disableBinaryLogging() {
+        BinaryLogWriter previous;
+        logLock.lock();
+        try {
+            previous = binaryWriter;
+            binaryWriter = null;
+            if (previous != null) {
+                retire(previous);
+            }
+        } finally {
+            logLock.unlock();
+        }
+        if (previous != null) {
+            info("Binary logging disabled, " + previous.getRecordCount() + " records written");
+        }
+    }
+    
+    // Caller holds logLock. Once closed the writer rejects the records of callers that
+    // read it before the swap.
+    private void retire(BinaryLogWriter writer) {
+        try {
+            writer.close();
+        } catch (RuntimeException e) {
+            writeFailed("binary log", e);
+        }
+    }
+    
+    // Use a custom file appender (size, rotation, fsync policy); the previous one is closed
+    public void setFileAppender(LogFileAppender appender) {
+        logLock.lock();
+        try {
+            if (fileAppender != null && fileAppender != appender) {
+                fileAppender.close();
+            }
+            fileAppender = appender;
+        } finally {
+            logLock.unlock();
+        }
     }
     
     // Toggle colored console output
@@ -137,25 +732,122 @@ public class Logger {
         this.enableConsoleColors = enable;
     }
     
-    // Get copy of all logged messages
-    public List<String> getLogHistory() {
+    // Toggle the in-memory history; with it off enabled calls on the synchronous
+    // path allocate nothing once warmed up
+    public void enableHistory(boolean enable) {
+        this.enableHistory = enable;
+    }
+    
+    // Toggle console output entirely (history and file logging still happen)
+    public void enableConsoleOutput(boolean enable) {
+        this.enableConsoleOutput = enable;
+    }
+    
+    // Switch to async mode: callers publish into a ring buffer of the given
+    // capacity and a single background thread formats and writes the messages
+    public void enableAsyncLogging(int capacity, AsyncLogRingBuffer.WaitStrategy waitStrategy,
+                                   AsyncLogRingBuffer.BackpressurePolicy backpressurePolicy, int sampleRate) {
         logLock.lock();
         try {
-            return new ArrayList<>(logHistory);
+            if (asyncBuffer != null) {
+                throw new IllegalStateException("Async logging is already enabled");
+            }
+            asyncBuffer = new AsyncLogRingBuffer(capacity, waitStrategy, backpressurePolicy,
+                                                 sampleRate, this::writeAsync);
         } finally {
             logLock.unlock();
         }
+        info("Async logging enabled (" + waitStrategy + ", " + backpressurePolicy + ")");
     }
     
-    // Remove all stored log messages
-    public void clearHistory() {
+    // Async mode with a sleeping consumer and blocking producers - nothing is lost
+    public void enableAsyncLogging(int capacity) {
+        enableAsyncLogging(capacity, AsyncLogRingBuffer.WaitStrategy.SLEEPING,
+                           AsyncLogRingBuffer.BackpressurePolicy.BLOCK, 1);
+    }
+    
+    // Drain pending messages and go back to logging on the caller's thread
+    public void disableAsyncLogging() {
+        AsyncLogRingBuffer buffer = asyncBuffer;
+        if (buffer == null) {
+            return;
+        }
+        asyncBuffer = null;
+        buffer.shutdown();
+        info("Async logging disabled, " + buffer.getDroppedCount() + " messages dropped");
+    }
+    
+    public boolean isAsyncLogging() {
+        return asyncBuffer != null;
+    }
+    
+    // Wait until every message logged so far has been written out (and synced, unless
+    // the file appender's policy is NONE)
+    public void flush() {
+        AsyncLogRingBuffer buffer = asyncBuffer;
+        if (buffer != null) {
+            buffer.flush();
+        }
         logLock.lock();
         try {
-            logHistory.clear();
-            info("Log history cleared");
+            if (fileAppender != null) {
+                fileAppender.sync();
+            }
+        } catch (UncheckedIOException e) {
+            writeFailed("log file", e);
         } finally {
             logLock.unlock();
         }
+        BinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            try {
+                binary.flush();
+            } catch (RuntimeException e) {
+                writeFailed("binary log", e);
+            }
+        }
+    }
+    
+    // Writes lost because the text or binary file output failed
+    public long getWriteFailureCount() {
+        return writeFailures.sum();
+    }
+    
+    // Messages discarded by the current async buffer's backpressure policy
+    public long getDroppedCount() {
+        AsyncLogRingBuffer buffer = asyncBuffer;
+        return buffer == null ? 0 : buffer.getDroppedCount();
+    }
+    
+    // Get copy of the retained messages, oldest first (at most HISTORY_CAPACITY)
+    public List<String> getLogHistory() {
+        List<LogHistory.Entry> entries = logHistory.snapshot();
+        List<String> messages = new ArrayList<>(entries.size());
+        for (LogHistory.Entry entry : entries) {
+            messages.add(entry.format());
+        }
+        return messages;
+    }
+    
+    // The last n retained entries, oldest first
+    public List<LogHistory.Entry> getRecentEntries(int n) {
+        return logHistory.last(n);
+    }
+    
+    // The last n retained entries of one level
+    public List<LogHistory.Entry> getEntriesByLevel(LogLevel level, int n) {
+        return logHistory.byLevel(level, n);
+    }
+    
+    // Retained entries logged in [fromMillis, toMillis)
+    public List<LogHistory.Entry> getEntriesBetween(long fromMillis, long toMillis) {
+        return logHistory.byTimeRange(fromMillis, toMillis);
+    }
+    
+    // Remove all stored log messages
+    public void clearHistory() {
+        logHistory.clear();
+        info("Log history cleared");
     }
     
     // Show current logger configuration
@@ -164,24 +856,25 @@ public class Logger {
         try {
             System.out.println("\n=== LOGGER STATUS ===");
             System.out.println("Current Log Level: " + currentLogLevel.getName());
-            System.out.println("Total Log Entries: " + logHistory.size());
+            System.out.println("Category Levels: " + configuredLevels.size() + " configured, "
+                               + categories.size() + " named loggers");
+            System.out.println("Total Log Entries: " + logHistory.getTotalWritten()
+                               + " (" + logHistory.size() + " of " + logHistory.getCapacity() + " kept)");
             System.out.println("File Logging: " + (enableFileLogging ? "Enabled" : "Disabled"));
             System.out.println("Console Colors: " + (enableConsoleColors ? "Enabled" : "Disabled"));
+            BinaryLogWriter binary = binaryWriter;
+            System.out.println("Binary Logging: " + (binary == null ? "Disabled" :
+                               "Enabled (" + binary.getRecordCount() + " records, " + binary.getByteCount() + " bytes)"));
+            System.out.println("Write Failures: " + writeFailures.sum());
+            AsyncLogRingBuffer buffer = asyncBuffer;
+            System.out.println("Async Logging: " + (buffer == null ? "Disabled" :
+                               "Enabled (capacity " + buffer.getCapacity() + ", dropped " + buffer.getDroppedCount() + ")"));
             System.out.println("Logger Instance Hash: " + this.hashCode());
         } finally {
             logLock.unlock();
         }
     }
     
-    // Simulate writing to a log file
-    private void simulateFileLogging(String message) {
-        try {
-            Thread.sleep(1); // Pretend file operation takes time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-    
     // Test method for concurrent logging
     public void logWithDelay(String message, long delayMs) {
         try {
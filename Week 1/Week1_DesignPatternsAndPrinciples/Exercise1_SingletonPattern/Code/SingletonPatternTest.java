@@ -1,7 +1,16 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 // Test program to verify the Singleton Logger works correctly
 // Tests basic functionality, singleton behavior, and thread safety
@@ -16,6 +25,9 @@ public class SingletonPatternTest {
         testServiceUsage();
         testLoggerFeatures();
         testConcurrentAccess();
+        testContentionBenchmark();
+        testHistoryUnderConcurrentWriters();
+        testGarbageFreeLogging();
         
         System.out.println("\nAll tests completed!");
     }
@@ -92,10 +104,19 @@ public class SingletonPatternTest {
         logger.setLogLevel(Logger.LogLevel.DEBUG);
         logger.debug("Debug message (should show now)");
         
-        // Test file logging
+        // Test file logging, in a temporary directory instead of ./logs
+        Path logDirectory;
+        try {
+            logDirectory = Files.createTempDirectory("singleton-logger");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LogFileAppender appender = new LogFileAppender(logDirectory, "application");
+        logger.setFileAppender(appender);
         logger.enableFileLogging(true);
         logger.info("Message logged to file");
         logger.enableFileLogging(false);
+        System.out.println("Bytes written to " + appender.getActiveFile() + ": " + appender.getTotalBytes());
         
         // Show statistics
         logger.printStatistics();
@@ -160,6 +181,229 @@ public class SingletonPatternTest {
         
         System.out.println();
     }
+    
+    // Contention benchmark: the same number of messages from 1 to 64 threads,
+    // synchronous (global lock) against the async ring buffer
+    private static void testContentionBenchmark() {
+        System.out.println("=== TEST 6: CONTENTION BENCHMARK ===");
+        
+        final int TOTAL_MESSAGES = 128_000;
+        final int BUFFER_CAPACITY = 8192;
+        Logger logger = Logger.getInstance();
+        
+        // Keep the terminal out of the measurement
+        logger.enableConsoleOutput(false);
+        
+        System.out.printf("%-8s %14s %14s %14s %14s %10s\n", "Threads", "Sync msg/s",
+                          "Block call/s", "Block msg/s", "Drop call/s", "Dropped");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            int perThread = TOTAL_MESSAGES / threads;
+            
+            long sync = runContention(logger, threads, perThread);
+            logger.clearHistory();
+            
+            logger.enableAsyncLogging(BUFFER_CAPACITY, AsyncLogRingBuffer.WaitStrategy.YIELDING,
+                                      AsyncLogRingBuffer.BackpressurePolicy.BLOCK, 1);
+            long blockStart = System.nanoTime();
+            long blockCalls = runContention(logger, threads, perThread);
+            logger.flush();
+            long blockDrained = System.nanoTime() - blockStart;
+            logger.disableAsyncLogging();
+            logger.clearHistory();
+            
+            logger.enableAsyncLogging(BUFFER_CAPACITY, AsyncLogRingBuffer.WaitStrategy.YIELDING,
+                                      AsyncLogRingBuffer.BackpressurePolicy.DROP, 1);
+            long dropCalls = runContention(logger, threads, perThread);
+            logger.flush();
+            long dropped = logger.getDroppedCount();
+            logger.disableAsyncLogging();
+            logger.clearHistory();
+            
+            long messages = (long) threads * perThread;
+            System.out.printf("%-8d %,14.0f %,14.0f %,14.0f %,14.0f %10d\n", threads,
+                              messages * 1e9 / sync, messages * 1e9 / blockCalls,
+                              messages * 1e9 / blockDrained, messages * 1e9 / dropCalls, dropped);
+        }
+        
+        logger.enableConsoleOutput(true);
+        System.out.println("call/s = rate seen by the logging threads, msg/s = rate until everything is written");
+        System.out.println("Contention benchmark completed\n");
+    }
+    
+    // Bounded history: concurrent writers and lock-free readers, then the size limit on Logger
+    private static void testHistoryUnderConcurrentWriters() {
+        System.out.println("=== TEST 7: BOUNDED HISTORY ===");
+        
+        final int WRITERS = 8;
+        final int MESSAGES_PER_WRITER = 100_000;
+        final Logger.LogLevel[] levels = Logger.LogLevel.values();
+        LogHistory history = new LogHistory(4096);
+        AtomicLong violations = new AtomicLong();
+        AtomicLong snapshots = new AtomicLong();
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+        
+        // Each message starts with its level name, so a torn read shows up as a mismatch
+        for (int i = 0; i < WRITERS; i++) {
+            final int writerId = i;
+            new Thread(() -> {
+                for (int j = 0; j < MESSAGES_PER_WRITER; j++) {
+                    Logger.LogLevel level = levels[j % levels.length];
+                    history.add(level, System.currentTimeMillis(), level.getName() + ":" + writerId + ":" + j);
+                }
+                writersDone.countDown();
+            }).start();
+        }
+        
+        Thread reader = new Thread(() -> {
+            while (writersDone.getCount() > 0) {
+                List<LogHistory.Entry> entries = history.snapshot();
+                long previous = -1;
+                for (LogHistory.Entry entry : entries) {
+                    if (!entry.getMessage().startsWith(entry.getLevel().getName() + ":")
+                            || entry.getSequence() <= previous) {
+                        violations.incrementAndGet();
+                    }
+                    previous = entry.getSequence();
+                }
+                if (entries.size() > history.getCapacity()) {
+                    violations.incrementAndGet();
+                }
+                for (LogHistory.Entry entry : history.byLevel(Logger.LogLevel.ERROR, 100)) {
+                    if (entry.getLevel() != Logger.LogLevel.ERROR) {
+                        violations.incrementAndGet();
+                    }
+                }
+                snapshots.incrementAndGet();
+            }
+        });
+        reader.start();
+        
+        try {
+            writersDone.await();
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        long total = (long) WRITERS * MESSAGES_PER_WRITER;
+        List<LogHistory.Entry> lastTen = history.last(10);
+        boolean passed = violations.get() == 0
+            && history.getTotalWritten() == total
+            && history.size() == history.getCapacity()
+            && history.snapshot().size() == history.getCapacity()
+            && lastTen.size() == 10 && lastTen.get(9).getSequence() == total - 1
+            && history.byTimeRange(0, Long.MAX_VALUE).size() == history.getCapacity();
+        for (Logger.LogLevel level : levels) {
+            passed &= history.byLevel(level, 50).size() == 50;
+        }
+        System.out.println("Written: " + history.getTotalWritten() + ", retained: " + history.size()
+                           + ", reader snapshots: " + snapshots.get() + ", violations: " + violations.get());
+        
+        // The singleton keeps at most its capacity no matter how much is logged
+        Logger logger = Logger.getInstance();
+        logger.enableConsoleOutput(false);
+        for (int i = 0; i < 20_000; i++) {
+            logger.info("History bound message " + i);
+        }
+        logger.enableConsoleOutput(true);
+        int kept = logger.getLogHistory().size();
+        passed &= kept <= 8192;
+        System.out.println("Logger history after 20,000 messages: " + kept + " entries");
+        
+        System.out.println(passed ? "Bounded history test passed!\n" : "Bounded history test failed!\n");
+    }
+    
+    // Parameterized logging: measure bytes allocated per call with the JVM's per-thread counter
+    private static void testGarbageFreeLogging() {
+        System.out.println("=== TEST 8: GARBAGE-FREE LOGGING ===");
+        
+        final int CALLS = 200_000;
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Logger logger = Logger.getInstance();
+        logger.setLogLevel(Logger.LogLevel.INFO);
+        
+        // Console output still runs, into a sink, so the byte encoding path is measured too
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), true));
+        logger.enableHistory(false);
+        
+        String customer = "customer-42";
+        Integer region = 7; // Boxed once, outside the measured loop
+        Runnable enabledCalls = () -> {
+            for (int i = 0; i < CALLS; i++) {
+                logger.info("Order {} placed by {}", region, customer);
+                logger.info("Processed {} items", (long) i);
+                logger.warn("Latency {} ms", 12.5);
+            }
+        };
+        Runnable disabledCalls = () -> {
+            for (int i = 0; i < CALLS; i++) {
+                logger.debug("Cache miss for {} in region {}", customer, region);
+                logger.debug("Queue depth {}", (long) i);
+                logger.debug(() -> "Expensive " + expensiveSummary()); // Never evaluated
+            }
+        };
+        
+        enabledCalls.run(); // Warm up
+        disabledCalls.run();
+        double enabledBytes = allocatedPerCall(threads, enabledCalls, 3L * CALLS);
+        double disabledBytes = allocatedPerCall(threads, disabledCalls, 3L * CALLS);
+        
+        logger.enableHistory(true);
+        enabledCalls.run();
+        double historyBytes = allocatedPerCall(threads, enabledCalls, 3L * CALLS);
+        
+        System.setOut(console);
+        System.out.printf("Enabled calls, history off: %.2f bytes/call\n", enabledBytes);
+        System.out.printf("Disabled calls:             %.2f bytes/call\n", disabledBytes);
+        System.out.printf("Enabled calls, history on:  %.2f bytes/call (the retained message strings)\n", historyBytes);
+        
+        // Allow a little slack for the once-a-minute timestamp refresh
+        boolean passed = enabledBytes < 1.0 && disabledBytes < 1.0;
+        System.out.println(passed ? "Garbage-free logging test passed!\n" : "Garbage-free logging test failed!\n");
+    }
+    
+    private static String expensiveSummary() {
+        throw new IllegalStateException("Supplier should not run for a disabled level");
+    }
+    
+    private static double allocatedPerCall(com.sun.management.ThreadMXBean threads, Runnable calls, long count) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        calls.run();
+        return (double) (threads.getCurrentThreadAllocatedBytes() - before) / count;
+    }
+    
+    // Start all threads together and return the nanoseconds until the last one finishes logging
+    private static long runContention(Logger logger, int threads, int messagesPerThread) {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            final int threadId = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < messagesPerThread; j++) {
+                        logger.info("Thread-" + threadId + " Message-" + j);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.nanoTime() - begin;
+    }
 }
 
 // Sample service classes that use the logger
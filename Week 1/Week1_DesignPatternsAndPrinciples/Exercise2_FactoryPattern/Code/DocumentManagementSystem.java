@@ -1,11 +1,14 @@
 import document.factories.DocumentFactory;
+import document.factories.DocumentFactoryRegistry;
 import document.factories.ExcelDocumentFactory;
 import document.factories.PdfDocumentFactory;
+import document.factories.PooledDocumentFactory;
 import document.factories.WordDocumentFactory;
 import document.products.Document;
 
 // Demo program showing the Factory Method pattern in action
 // Different factories create different types of documents
+// Run with this directory on the class path so the registry finds META-INF/services
 public class DocumentManagementSystem {
 
     public static void main(String[] args) {
@@ -44,7 +47,26 @@ public class DocumentManagementSystem {
         wordFactory.manageDocument();
         pdfFactory.manageDocument();
         excelFactory.manageDocument();
-        
+
+        // Pooled factory reuses closed documents instead of creating new ones
+        System.out.println("\n=== POOLED FACTORY ===");
+        PooledDocumentFactory pooledWordFactory = new PooledDocumentFactory(wordFactory);
+        pooledWordFactory.manageDocument();
+        pooledWordFactory.manageDocument();
+        pooledWordFactory.manageDocument();
+        System.out.println("Created: " + pooledWordFactory.getCreatedCount()
+                           + ", reused: " + pooledWordFactory.getReusedCount());
+
+        // Registry picks the factory from the file name or MIME type
+        System.out.println("\n=== FACTORY REGISTRY ===");
+        DocumentFactoryRegistry registry = DocumentFactoryRegistry.load();
+        for (String fileName : new String[] {"report.docx", "invoice.PDF", "budget.xlsx", "notes.txt"}) {
+            DocumentFactory factory = registry.forFileName(fileName);
+            System.out.println(fileName + " -> " + (factory == null ? "no factory" : factory.createDocument().getType()));
+        }
+        DocumentFactory pdfByMime = registry.forMimeType("application/pdf; charset=binary");
+        System.out.println("application/pdf -> " + pdfByMime.createDocument().getType());
+
         System.out.println("\nDemo completed!");
     }
 }
\ No newline at end of file
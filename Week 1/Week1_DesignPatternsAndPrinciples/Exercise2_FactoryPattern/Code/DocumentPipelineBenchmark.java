@@ -0,0 +1,118 @@
+import document.factories.DocumentFactory;
+import document.pipeline.DocumentJob;
+import document.pipeline.DocumentPipeline;
+import document.pipeline.PipelineResult;
+import document.products.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Sequential processing vs DocumentPipeline for a mixed batch of I/O-bound documents
+// Opening and saving sleep to stand in for disk or network I/O.
+// Run: java DocumentPipelineBenchmark [jobs]   (defaults to 3,000)
+public class DocumentPipelineBenchmark {
+
+    // Document whose open and save take a fixed time
+    static class SimulatedDocument implements Document {
+        private final String type;
+        private final long openMillis;
+        private final long saveMillis;
+
+        SimulatedDocument(String type, long openMillis, long saveMillis) {
+            this.type = type;
+            this.openMillis = openMillis;
+            this.saveMillis = saveMillis;
+        }
+
+        @Override
+        public void open() {
+            pause(openMillis);
+        }
+
+        @Override
+        public void save() {
+            pause(saveMillis);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        private static void pause(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static DocumentFactory simulated(String type, long openMillis, long saveMillis) {
+        return new DocumentFactory() {
+            @Override
+            public Document createDocument() {
+                return new SimulatedDocument(type, openMillis, saveMillis);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int jobCount = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 3_000;
+
+        Map<String, DocumentFactory> factories = Map.of(
+            "Word", simulated("Word", 1, 2),
+            "PDF", simulated("PDF", 1, 4),
+            "Excel", simulated("Excel", 1, 1));
+        String[] types = {"Word", "Word", "PDF", "Excel"};
+        List<DocumentJob> jobs = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            jobs.add(new DocumentJob(types[i % types.length], "doc-" + i));
+        }
+
+        System.out.printf("=== BATCH OF %,d DOCUMENTS (Word 50%%, PDF 25%%, Excel 25%%) ===\n", jobCount);
+
+        // One at a time, like DocumentManagementSystem
+        int sequentialJobs = Math.min(jobCount, 300);
+        long start = System.nanoTime();
+        for (DocumentJob job : jobs.subList(0, sequentialJobs)) {
+            Document doc = factories.get(job.getType()).createDocument();
+            doc.open();
+            job.getTransform().accept(doc);
+            doc.save();
+            doc.close();
+        }
+        double sequentialRate = sequentialJobs / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("\nSequential: %,.0f jobs/s (measured on %,d jobs)\n", sequentialRate, sequentialJobs);
+
+        // Pipeline, with PDF limited more tightly than the others
+        DocumentPipeline pipeline = DocumentPipeline.builder()
+            .register("Word", factories.get("Word"), 128)
+            .register("PDF", factories.get("PDF"), 32)
+            .register("Excel", factories.get("Excel"), 64)
+            .queueCapacity(256)
+            .workersPerStage(128)
+            .build();
+        System.out.println("\nPipeline:");
+        PipelineResult result = pipeline.process(jobs.stream());
+        result.printSummary();
+        System.out.printf("Speed-up over sequential: %.1fx\n", result.getThroughput() / sequentialRate);
+
+        // Failures are reported per job and do not stop the batch
+        System.out.println("\n=== FAILURE HANDLING ===");
+        Stream<DocumentJob> mixed = Stream.of(
+            new DocumentJob("Word", "good-1"),
+            new DocumentJob("Word", "broken", doc -> { throw new IllegalStateException("corrupt table"); }),
+            new DocumentJob("Visio", "unknown-type"),
+            new DocumentJob("Excel", "good-2"));
+        PipelineResult failures = pipeline.process(mixed);
+        System.out.println("Completed: " + failures.getCompletedCount() + " (expected 2)");
+        failures.getFailures().forEach(failure -> System.out.println("  " + failure));
+    }
+}
@@ -0,0 +1,208 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import document.factories.DocumentFactory;
+import document.factories.PooledDocumentFactory;
+import document.products.Document;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+// Allocation rate and GC pauses with and without PooledDocumentFactory
+// Each worker thread runs create -> open -> save -> close -> release in a loop.
+// Run: java DocumentPoolBenchmark [documentsPerThread] [threads]   (defaults to 2M and 4)
+public class DocumentPoolBenchmark {
+
+    // A document with per-use state, the kind that is expensive to churn through:
+    // a 16 KB content buffer and an edit log
+    static class ReportDocument implements Document {
+        private final byte[] content = new byte[16 * 1024];
+        private final StringBuilder editLog = new StringBuilder(256);
+        private int length;
+        private long checksum;
+
+        @Override
+        public void open() {
+            for (int i = 0; i < 512; i++) {
+                content[length++] = (byte) i;
+            }
+            editLog.append("opened;");
+        }
+
+        @Override
+        public void save() {
+            long sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum = sum * 31 + content[i];
+            }
+            checksum = sum;
+            editLog.append("saved;");
+        }
+
+        @Override
+        public void close() {
+            editLog.append("closed;");
+        }
+
+        @Override
+        public String getType() {
+            return "Report";
+        }
+
+        @Override
+        public void reset() {
+            length = 0;
+            checksum = 0;
+            editLog.setLength(0);
+        }
+    }
+
+    static class ReportDocumentFactory extends DocumentFactory {
+        @Override
+        public Document createDocument() {
+            return new ReportDocument();
+        }
+    }
+
+    private static final List<Long> pauses = new ArrayList<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        int documents = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        listenForGcPauses();
+
+        System.out.printf("=== DOCUMENT POOL, %d THREADS x %,d DOCUMENTS ===\n", threads, documents);
+        System.out.printf("%-10s %12s %12s %12s %8s %12s %12s\n",
+                          "Factory", "docs/s", "bytes/doc", "MB/s alloc", "GCs", "total ms", "max ms");
+
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1; // First round warms up
+            run("plain", new ReportDocumentFactory(), documents, threads, report);
+            PooledDocumentFactory pooled = new PooledDocumentFactory(new ReportDocumentFactory(), 256, 256);
+            run("pooled", pooled, documents, threads, report);
+            if (report) {
+                System.out.printf("\nPooled: %,d created, %,d reused, %,d discarded, %,d leaks\n",
+                                  pooled.getCreatedCount(), pooled.getReusedCount(),
+                                  pooled.getDiscardedCount(), pooled.getLeakCount());
+            }
+        }
+
+        checkLeakDetection();
+    }
+
+    private static void run(String label, DocumentFactory factory, int documents, int threads, boolean report)
+            throws InterruptedException {
+        AtomicLong allocated = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long before = bean.getCurrentThreadAllocatedBytes();
+                long sink = 0;
+                for (int i = 0; i < documents; i++) {
+                    Document doc = factory.createDocument();
+                    doc.open();
+                    doc.save();
+                    doc.close();
+                    sink += ((ReportDocument) doc).checksum;
+                    factory.releaseDocument(doc);
+                }
+                allocated.addAndGet(bean.getCurrentThreadAllocatedBytes() - before);
+                if (sink == 42) {
+                    System.out.print(""); // Keeps the loop from being optimized away
+                }
+            });
+        }
+
+        System.gc();
+        long gcCountBefore = gcCount();
+        int pausesBefore = pauseCount();
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long gcs = gcCount() - gcCountBefore;
+        long[] pauseStats = pauseStats(pausesBefore);
+
+        if (report) {
+            long total = (long) documents * threads;
+            System.out.printf("%-10s %,12.0f %12.1f %12.1f %8d %12d %12d\n", label,
+                              total / (elapsed / 1e9), (double) allocated.get() / total,
+                              allocated.get() / 1e6 / (elapsed / 1e9), gcs, pauseStats[0], pauseStats[1]);
+        }
+    }
+
+    // Documents that are never released must show up as leaks once collected
+    private static void checkLeakDetection() throws InterruptedException {
+        System.out.println("\n=== LEAK DETECTION ===");
+        PooledDocumentFactory pooled = new PooledDocumentFactory(new ReportDocumentFactory(), 16, 1);
+        for (int i = 0; i < 3; i++) {
+            pooled.releaseDocument(pooled.createDocument());
+        }
+        for (int i = 0; i < 2; i++) {
+            pooled.createDocument(); // Never released
+        }
+        long leaks = 0;
+        for (int attempt = 0; attempt < 20 && leaks < 2; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+            leaks = pooled.getLeakCount();
+        }
+        System.out.println("Leaks detected: " + leaks + " (expected 2)");
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    // GC durations as reported by the JVM for each collection
+    private static void listenForGcPauses() {
+        NotificationListener listener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // Concurrent cycles run alongside the application and are not pauses
+                if (!info.getGcCause().equals("No GC") && !info.getGcName().contains("Concurrent")) {
+                    synchronized (pauses) {
+                        pauses.add(info.getGcInfo().getDuration());
+                    }
+                }
+            }
+        };
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) bean).addNotificationListener(listener, null, null);
+        }
+    }
+
+    private static int pauseCount() {
+        synchronized (pauses) {
+            return pauses.size();
+        }
+    }
+
+    // {total, max} in milliseconds of the pauses recorded since index from
+    private static long[] pauseStats(int from) throws InterruptedException {
+        Thread.sleep(100); // Notifications arrive asynchronously
+        long total = 0;
+        long max = 0;
+        synchronized (pauses) {
+            for (int i = from; i < pauses.size(); i++) {
+                total += pauses.get(i);
+                max = Math.max(max, pauses.get(i));
+            }
+        }
+        return new long[] {total, max};
+    }
+}
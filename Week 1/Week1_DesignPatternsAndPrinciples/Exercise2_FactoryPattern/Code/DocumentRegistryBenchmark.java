@@ -0,0 +1,127 @@
+import document.factories.DocumentFactory;
+import document.factories.DocumentFactoryRegistry;
+import document.products.Document;
+import document.products.WordDocument;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Startup time and lookup latency of DocumentFactoryRegistry with hundreds of types,
+// compared with a HashMap keyed by the lower-cased extension
+// Run: java -cp <classes>:. DocumentRegistryBenchmark   (this directory holds META-INF/services)
+public class DocumentRegistryBenchmark {
+
+    // Stands in for a real factory; only its extensions and MIME type matter here
+    static class SyntheticFactory extends DocumentFactory {
+        private final List<String> extensions;
+        private final List<String> mimeTypes;
+
+        SyntheticFactory(int id) {
+            this.extensions = List.of("t" + id, "type" + id + "x");
+            this.mimeTypes = List.of("application/x-type-" + id);
+        }
+
+        @Override
+        public Document createDocument() {
+            return new WordDocument();
+        }
+
+        @Override
+        public List<String> getFileExtensions() {
+            return extensions;
+        }
+
+        @Override
+        public List<String> getMimeTypes() {
+            return mimeTypes;
+        }
+    }
+
+    private static final int LOOKUPS = 20_000_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== STARTUP ===");
+        long start = System.nanoTime();
+        DocumentFactoryRegistry loaded = DocumentFactoryRegistry.load();
+        System.out.printf("ServiceLoader discovery: %d factories, %d extensions in %.2f ms\n",
+                          loaded.getFactories().size(), loaded.getExtensionCount(), (System.nanoTime() - start) / 1e6);
+
+        for (int types : new int[] {100, 500, 1000}) {
+            List<DocumentFactory> factories = new ArrayList<>();
+            for (int i = 0; i < types; i++) {
+                factories.add(new SyntheticFactory(i));
+            }
+            DocumentFactoryRegistry.of(factories); // Warm up
+            start = System.nanoTime();
+            DocumentFactoryRegistry registry = DocumentFactoryRegistry.of(factories);
+            System.out.printf("%,5d types: built in %.3f ms, %,d extensions, %,d MIME types, longest probe %d\n",
+                              types, (System.nanoTime() - start) / 1e6, registry.getExtensionCount(),
+                              registry.getMimeTypeCount(), registry.getMaxProbeLength());
+        }
+
+        // 500 types, lookups by file name: mostly hits, some unknown extensions
+        List<DocumentFactory> factories = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            factories.add(new SyntheticFactory(i));
+        }
+        DocumentFactoryRegistry registry = DocumentFactoryRegistry.of(factories);
+        Map<String, DocumentFactory> hashMap = new HashMap<>();
+        for (DocumentFactory factory : factories) {
+            for (String extension : factory.getFileExtensions()) {
+                hashMap.put(extension, factory);
+            }
+        }
+        String[] fileNames = new String[1024];
+        for (int i = 0; i < fileNames.length; i++) {
+            fileNames[i] = i % 8 == 7 ? "archive-" + i + ".ZIP" : "file-" + i + (i % 2 == 0 ? ".T" : ".Type") + (i % 500)
+                           + (i % 2 == 0 ? "" : "X");
+        }
+
+        System.out.printf("\n=== LOOKUP BY FILE NAME, 500 TYPES, %,d LOOKUPS ===\n", LOOKUPS);
+        System.out.printf("%-28s %10s %12s %8s\n", "Method", "ns/lookup", "bytes/lookup", "hits");
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            measure("registry.forFileName", report, () -> {
+                long hits = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    if (registry.forFileName(fileNames[i & 1023]) != null) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+            measure("HashMap + substring/lower", report, () -> {
+                long hits = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    String name = fileNames[i & 1023];
+                    String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+                    if (hashMap.get(extension) != null) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+        }
+    }
+
+    private interface Task {
+        long run();
+    }
+
+    private static void measure(String label, boolean report, Task task) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = bean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long hits = task.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = bean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (report) {
+            System.out.printf("%-28s %10.1f %12.1f %,8d\n", label, (double) elapsed / LOOKUPS,
+                              (double) allocated / LOOKUPS, hits);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package document.factories;
 
 import document.products.*;
 
+import java.util.List;
+
 // Abstract factory class that defines the factory method pattern
 // Subclasses implement createDocument() to create specific document types
 public abstract class DocumentFactory {
@@ -9,6 +11,21 @@ public abstract class DocumentFactory {
     // Factory method - subclasses must implement this
     public abstract Document createDocument();
 
+    // File extensions (without the dot) and MIME types this factory handles
+    // DocumentFactoryRegistry uses them to pick a factory for a file
+    public List<String> getFileExtensions() {
+        return List.of();
+    }
+
+    public List<String> getMimeTypes() {
+        return List.of();
+    }
+
+    // Hand back a document this factory created once it is closed
+    // Plain factories just let it go; PooledDocumentFactory keeps it for reuse
+    public void releaseDocument(Document doc) {
+    }
+
     // Template method that uses the factory method
     // Creates a document and performs common management operations
     public void manageDocument() {
@@ -18,5 +35,6 @@ public abstract class DocumentFactory {
         doc.save();
         doc.close();
         System.out.println("--- Finished managing " + doc.getType() + " document ---");
+        releaseDocument(doc);
     }
-}
\ No newline at end of file
+}
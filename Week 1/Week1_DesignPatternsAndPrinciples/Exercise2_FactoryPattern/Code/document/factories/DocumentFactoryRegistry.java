@@ -0,0 +1,251 @@
+package document.factories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+// Finds the factory for a file by extension or MIME type
+// Factories are discovered once with ServiceLoader (listed in
+// META-INF/services/document.factories.DocumentFactory) or passed in directly. Their
+// extensions and MIME types are compiled into immutable open-addressing tables that are
+// at most half full. While building, several hash seeds are tried and the one with the
+// shortest probe sequences is kept, which keeps probes short but does not bound them; with
+// hundreds of types the longest can be ten slots, and getMaxProbeLength() reports it. A
+// lookup hashes the key in place, probes and compares characters - no lower-casing,
+// substring or other allocation per call.
+//
+// Usage:
+//   DocumentFactoryRegistry registry = DocumentFactoryRegistry.load();
+//   DocumentFactory factory = registry.forFileName("report.docx");
+public final class DocumentFactoryRegistry {
+
+    private final List<DocumentFactory> factories;
+    private final Table extensions;
+    private final Table mimeTypes;
+
+    private DocumentFactoryRegistry(List<DocumentFactory> factories) {
+        this.factories = List.copyOf(factories);
+        this.extensions = new Table(factories, true);
+        this.mimeTypes = new Table(factories, false);
+    }
+
+    // Every DocumentFactory registered as a service on the class path
+    public static DocumentFactoryRegistry load() {
+        List<DocumentFactory> found = new ArrayList<>();
+        for (DocumentFactory factory : ServiceLoader.load(DocumentFactory.class)) {
+            found.add(factory);
+        }
+        return new DocumentFactoryRegistry(found);
+    }
+
+    public static DocumentFactoryRegistry of(List<? extends DocumentFactory> factories) {
+        return new DocumentFactoryRegistry(new ArrayList<>(factories));
+    }
+
+    // Extension without the dot, any case ("docx", "PDF"); null if no factory handles it
+    public DocumentFactory forExtension(CharSequence extension) {
+        return extensions.get(extension, 0, extension.length());
+    }
+
+    // Uses the text after the last dot of the name; null without a known extension
+    public DocumentFactory forFileName(CharSequence fileName) {
+        for (int i = fileName.length() - 1; i >= 0; i--) {
+            char c = fileName.charAt(i);
+            if (c == '.') {
+                return extensions.get(fileName, i + 1, fileName.length());
+            }
+            if (c == '/' || c == '\\') {
+                break;
+            }
+        }
+        return null;
+    }
+
+    // Parameters such as "; charset=UTF-8" are ignored; null if no factory handles the type
+    public DocumentFactory forMimeType(CharSequence mimeType) {
+        int end = mimeType.length();
+        for (int i = 0; i < end; i++) {
+            if (mimeType.charAt(i) == ';') {
+                end = i;
+                break;
+            }
+        }
+        int start = 0;
+        while (start < end && mimeType.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && mimeType.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return mimeTypes.get(mimeType, start, end);
+    }
+
+    public List<DocumentFactory> getFactories() {
+        return factories;
+    }
+
+    public int getExtensionCount() {
+        return extensions.size;
+    }
+
+    public int getMimeTypeCount() {
+        return mimeTypes.size;
+    }
+
+    // Longest probe sequence of any extension or MIME type lookup
+    public int getMaxProbeLength() {
+        return Math.max(extensions.maxProbes, mimeTypes.maxProbes);
+    }
+
+    // Case-insensitive key -> factory table with linear probing, filled once at construction
+    private static final class Table {
+        private static final int SEED_ATTEMPTS = 64;
+
+        final String[] keys;
+        final DocumentFactory[] values;
+        final int mask;
+        final int seed;
+        final int size;
+        final int maxProbes;
+
+        Table(List<DocumentFactory> factories, boolean byExtension) {
+            List<String> allKeys = new ArrayList<>();
+            List<DocumentFactory> owners = new ArrayList<>();
+            Map<String, DocumentFactory> claimed = new HashMap<>();
+            for (DocumentFactory factory : factories) {
+                for (String key : byExtension ? factory.getFileExtensions() : factory.getMimeTypes()) {
+                    String normalized = normalize(key, byExtension);
+                    DocumentFactory previous = claimed.putIfAbsent(normalized, factory);
+                    if (previous != null) {
+                        throw new IllegalStateException((byExtension ? "Extension " : "MIME type ") + normalized
+                            + " claimed by both " + previous.getClass().getName()
+                            + " and " + factory.getClass().getName());
+                    }
+                    allKeys.add(normalized);
+                    owners.add(factory);
+                }
+            }
+            int count = allKeys.size();
+            int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1; // Load factor <= 0.5
+            mask = capacity - 1;
+            size = count;
+
+            // Keep the seed with the shortest longest probe sequence; 1 means no collisions at all
+            int[] hashes = new int[count];
+            for (int i = 0; i < count; i++) {
+                String key = allKeys.get(i);
+                hashes[i] = rawHash(key, 0, key.length());
+            }
+            int bestSeed = 0;
+            int bestProbes = Integer.MAX_VALUE;
+            boolean[] occupied = new boolean[capacity];
+            for (int attempt = 0; attempt < SEED_ATTEMPTS && bestProbes > 1; attempt++) {
+                int candidate = attempt * 0x9E3779B9;
+                int probes = place(hashes, candidate, occupied, bestProbes);
+                if (probes < bestProbes) {
+                    bestProbes = probes;
+                    bestSeed = candidate;
+                }
+            }
+            seed = bestSeed;
+            maxProbes = count == 0 ? 0 : bestProbes;
+
+            keys = new String[capacity];
+            values = new DocumentFactory[capacity];
+            for (int i = 0; i < count; i++) {
+                int slot = mix(hashes[i], seed) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = allKeys.get(i);
+                values[slot] = owners.get(i);
+            }
+        }
+
+        // Longest probe sequence when placing all hashes with this seed; gives up past limit
+        private int place(int[] hashes, int candidate, boolean[] occupied, int limit) {
+            Arrays.fill(occupied, false);
+            int longest = 0;
+            for (int h : hashes) {
+                int slot = mix(h, candidate) & mask;
+                int probes = 1;
+                while (occupied[slot]) {
+                    slot = (slot + 1) & mask;
+                    if (++probes >= limit) {
+                        return limit;
+                    }
+                }
+                occupied[slot] = true;
+                longest = Math.max(longest, probes);
+            }
+            return longest;
+        }
+
+        DocumentFactory get(CharSequence text, int start, int end) {
+            int slot = mix(rawHash(text, start, end), seed) & mask;
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (matches(key, text, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static String normalize(String key, boolean byExtension) {
+            String trimmed = key.trim();
+            if (byExtension && trimmed.startsWith(".")) {
+                trimmed = trimmed.substring(1);
+            }
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("Empty " + (byExtension ? "extension" : "MIME type"));
+            }
+            // Same ASCII-only case folding as the lookups
+            char[] chars = trimmed.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = lowerCase(chars[i]);
+            }
+            return new String(chars);
+        }
+
+        // Hash of the lower-cased characters
+        private static int rawHash(CharSequence text, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + lowerCase(text.charAt(i));
+            }
+            return h;
+        }
+
+        // Seeded finalizer (MurmurHash3 fmix32) so that similar keys land far apart
+        private static int mix(int h, int seed) {
+            h ^= seed;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+
+        private static boolean matches(String key, CharSequence text, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != lowerCase(text.charAt(start + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static char lowerCase(char c) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+    }
+}
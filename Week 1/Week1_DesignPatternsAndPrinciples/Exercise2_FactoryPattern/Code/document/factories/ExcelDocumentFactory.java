@@ -2,6 +2,8 @@ package document.factories;
 
 import document.products.*;
 
+import java.util.List;
+
 // Concrete factory for creating Excel documents
 public class ExcelDocumentFactory extends DocumentFactory {
 
@@ -9,4 +11,15 @@ public class ExcelDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new ExcelDocument();
     }
+
+    @Override
+    public List<String> getFileExtensions() {
+        return List.of("xls", "xlsx");
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+        return List.of("application/vnd.ms-excel",
+                       "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package document.factories;
 
 import document.products.*;
 
+import java.util.List;
+
 // Concrete factory for creating PDF documents
 public class PdfDocumentFactory extends DocumentFactory {
 
@@ -9,4 +11,14 @@ public class PdfDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new PdfDocument();
     }
+
+    @Override
+    public List<String> getFileExtensions() {
+        return List.of("pdf");
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+        return List.of("application/pdf");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,288 @@
+package document.factories;
+
+import document.products.*;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opt-in decorator that reuses closed documents instead of creating new ones
+// createDocument() takes an idle document from the calling thread's own small cache, then
+// from a shared lock-free pool, and only asks the wrapped factory when both are empty.
+// releaseDocument() resets the document and puts it back. The shared pool keeps at most
+// maxIdle documents and each thread a few more; anything beyond that is left to the GC.
+// Virtual threads skip the thread cache: they are short-lived and rarely create and
+// release on the same thread, so their caches would only hold documents nobody takes.
+// Releasing a document that is already idle fails instead of pooling it twice.
+//
+// Leak detection: every leakSampleInterval-th document handed out on a thread is tracked
+// with a phantom reference. If it is garbage collected without having been released, a
+// warning showing where it was obtained is printed and getLeakCount() goes up.
+public class PooledDocumentFactory extends DocumentFactory {
+
+    private static final int THREAD_CACHE_SIZE = 8;
+
+    private final DocumentFactory delegate;
+    private final int maxIdle;
+    private final int leakSampleInterval;
+
+    // Shared pool: a slot holds an idle document or null; idleCount lets empty and
+    // full pools be detected without scanning
+    private final AtomicReferenceArray<Document> shared;
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+    private final AtomicInteger nextHome = new AtomicInteger();
+    // Handed-out count for leak sampling on virtual threads, which have no thread cache
+    private final AtomicLong virtualHandedOut = new AtomicLong();
+
+    // Every document currently idle in a thread cache or the shared pool
+    private final Set<IdleKey> idle = ConcurrentHashMap.newKeySet();
+
+    // Documents being watched for leaks, and the trackers not yet released or reported
+    private final Map<Document, LeakTracker> tracked = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Set<LeakTracker> liveTrackers = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Document> collected = new ReferenceQueue<>();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    // Idle documents of one thread, used without any synchronization
+    private static final class ThreadCache {
+        final Document[] documents;
+        final int home;          // Where this thread starts scanning the shared pool
+        int size;
+        long handedOut;
+
+        ThreadCache(int capacity, int home) {
+            this.documents = new Document[capacity];
+            this.home = home;
+        }
+    }
+
+    // Identity of an idle document; the document's own equals() is never consulted
+    private static final class IdleKey {
+        final Document document;
+
+        IdleKey(Document document) {
+            this.document = document;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdleKey && ((IdleKey) other).document == document;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(document);
+        }
+    }
+
+    private static final class LeakTracker extends PhantomReference<Document> {
+        final String type;
+        final Throwable obtainedAt;
+
+        LeakTracker(Document document, ReferenceQueue<Document> queue) {
+            super(document, queue);
+            this.type = document.getType();
+            this.obtainedAt = new Throwable("Document obtained here");
+        }
+    }
+
+    // Keeps up to 256 idle documents and tracks every 256th document handed out
+    public PooledDocumentFactory(DocumentFactory delegate) {
+        this(delegate, 256, 256);
+    }
+
+    // leakSampleInterval 1 tracks every document, 0 turns leak detection off
+    public PooledDocumentFactory(DocumentFactory delegate, int maxIdle, int leakSampleInterval) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate factory cannot be null");
+        }
+        if (maxIdle <= 0 || leakSampleInterval < 0) {
+            throw new IllegalArgumentException("maxIdle must be positive and leakSampleInterval not negative");
+        }
+        this.delegate = delegate;
+        this.maxIdle = maxIdle;
+        this.leakSampleInterval = leakSampleInterval;
+        this.shared = new AtomicReferenceArray<>(maxIdle);
+    }
+
+    @Override
+    public Document createDocument() {
+        boolean virtual = Thread.currentThread().isVirtual();
+        ThreadCache cache = virtual ? null : threadCache.get();
+        Document doc;
+        if (cache != null && cache.size > 0) {
+            doc = takeLocal(cache);
+        } else {
+            doc = takeShared(cache != null ? cache.home : ThreadLocalRandom.current().nextInt(maxIdle));
+        }
+        if (doc != null) {
+            idle.remove(new IdleKey(doc));
+            reused.increment();
+        } else {
+            doc = delegate.createDocument();
+            created.increment();
+        }
+        if (leakSampleInterval > 0) {
+            long handedOut = cache != null ? ++cache.handedOut : virtualHandedOut.incrementAndGet();
+            if (handedOut % leakSampleInterval == 0) {
+                track(doc);
+            }
+        }
+        return doc;
+    }
+
+    // The document must be closed and no longer used by the caller
+    @Override
+    public void releaseDocument(Document doc) {
+        if (doc == null) {
+            throw new IllegalArgumentException("Document cannot be null");
+        }
+        IdleKey key = new IdleKey(doc);
+        if (!idle.add(key)) {
+            throw new IllegalStateException(doc.getType() + " document was already released");
+        }
+        if (!liveTrackers.isEmpty()) {
+            untrack(doc);
+        }
+        doc.reset();
+
+        if (!Thread.currentThread().isVirtual()) {
+            ThreadCache cache = threadCache.get();
+            if (cache.size < cache.documents.length) {
+                cache.documents[cache.size++] = doc;
+                return;
+            }
+            if (putShared(doc, cache.home)) {
+                return;
+            }
+        } else if (putShared(doc, ThreadLocalRandom.current().nextInt(maxIdle))) {
+            return;
+        }
+        idle.remove(key);
+        discarded.increment();
+    }
+
+    @Override
+    public List<String> getFileExtensions() {
+        return delegate.getFileExtensions();
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+        return delegate.getMimeTypes();
+    }
+
+    // Documents obtained from the wrapped factory
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    // Documents handed out again from a pool
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    // Released documents dropped because the pools were full
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    // Idle documents in the shared pool (thread caches not included)
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    // Tracked documents found garbage collected without being released
+    // Only documents the GC has already processed are counted
+    public long getLeakCount() {
+        reportLeaks();
+        return leaks.sum();
+    }
+
+    private ThreadCache newThreadCache() {
+        int home = Math.floorMod(nextHome.getAndAdd(0x61c88647), maxIdle);
+        return new ThreadCache(Math.min(THREAD_CACHE_SIZE, maxIdle), home);
+    }
+
+    private Document takeLocal(ThreadCache cache) {
+        Document doc = cache.documents[--cache.size];
+        cache.documents[cache.size] = null;
+        return doc;
+    }
+
+    private Document takeShared(int home) {
+        if (idleCount.get() == 0) {
+            return null;
+        }
+        for (int i = 0; i < maxIdle; i++) {
+            int slot = home + i < maxIdle ? home + i : home + i - maxIdle;
+            if (shared.get(slot) != null) {
+                Document doc = shared.getAndSet(slot, null);
+                if (doc != null) {
+                    idleCount.decrementAndGet();
+                    return doc;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean putShared(Document doc, int home) {
+        if (idleCount.get() >= maxIdle) {
+            return false;
+        }
+        for (int i = 0; i < maxIdle; i++) {
+            int slot = home + i < maxIdle ? home + i : home + i - maxIdle;
+            if (shared.get(slot) == null && shared.compareAndSet(slot, null, doc)) {
+                idleCount.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void track(Document doc) {
+        reportLeaks();
+        LeakTracker tracker = new LeakTracker(doc, collected);
+        liveTrackers.add(tracker);
+        tracked.put(doc, tracker);
+    }
+
+    private void untrack(Document doc) {
+        LeakTracker tracker = tracked.remove(doc);
+        if (tracker != null) {
+            liveTrackers.remove(tracker);
+            tracker.clear();
+        }
+    }
+
+    private void reportLeaks() {
+        LeakTracker tracker;
+        while ((tracker = (LeakTracker) collected.poll()) != null) {
+            if (liveTrackers.remove(tracker)) {
+                leaks.increment();
+                System.err.println("LEAK: " + tracker.type + " document was garbage collected without being released");
+                tracker.obtainedAt.printStackTrace();
+            }
+        }
+    }
+}
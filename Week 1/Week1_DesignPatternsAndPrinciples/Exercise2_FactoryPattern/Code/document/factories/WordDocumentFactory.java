@@ -2,6 +2,8 @@ package document.factories;
 
 import document.products.*;
 
+import java.util.List;
+
 // Concrete factory for creating Word documents
 public class WordDocumentFactory extends DocumentFactory {
 
@@ -9,4 +11,15 @@ public class WordDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new WordDocument();
     }
+
+    @Override
+    public List<String> getFileExtensions() {
+        return List.of("doc", "docx");
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+        return List.of("application/msword",
+                       "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    }
 }
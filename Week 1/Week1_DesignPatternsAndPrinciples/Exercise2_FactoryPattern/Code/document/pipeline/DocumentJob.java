@@ -0,0 +1,46 @@
+package document.pipeline;
+
+import document.products.*;
+
+import java.util.function.Consumer;
+
+// One unit of work for DocumentPipeline: which type of document to create, a name for
+// reporting, and what to do with the document between opening and saving it
+public class DocumentJob {
+
+    private static final Consumer<Document> NO_CHANGES = doc -> { };
+
+    private final String type;
+    private final String name;
+    private final Consumer<Document> transform;
+
+    public DocumentJob(String type, String name) {
+        this(type, name, NO_CHANGES);
+    }
+
+    public DocumentJob(String type, String name, Consumer<Document> transform) {
+        if (type == null || name == null || transform == null) {
+            throw new IllegalArgumentException("Type, name and transform cannot be null");
+        }
+        this.type = type;
+        this.name = name;
+        this.transform = transform;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Consumer<Document> getTransform() {
+        return transform;
+    }
+
+    @Override
+    public String toString() {
+        return type + " job " + name;
+    }
+}
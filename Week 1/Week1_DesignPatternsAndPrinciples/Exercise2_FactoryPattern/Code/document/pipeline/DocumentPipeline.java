@@ -0,0 +1,326 @@
+package document.pipeline;
+
+import document.factories.*;
+import document.products.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Runs batches of document jobs through open -> transform -> save -> close
+// Each stage has a bounded input queue and its own virtual threads. A slow stage (save is
+// I/O) fills its queue and holds back the stages before it instead of letting work pile up
+// in memory. Each document type also has a limit on how many of its documents may be in
+// the pipeline at once; the permit is taken before opening and given back after closing.
+//
+// Usage:
+//   DocumentPipeline pipeline = DocumentPipeline.builder()
+//       .register("Word", new WordDocumentFactory(), 8)
+//       .register("PDF", new PdfDocumentFactory(), 4)
+//       .build();
+//   PipelineResult result = pipeline.process(jobs.stream());
+public class DocumentPipeline {
+
+    private static final String[] STAGES = {"open", "transform", "save", "close"};
+    private static final int OPEN = 0;
+    private static final int TRANSFORM = 1;
+    private static final int SAVE = 2;
+    private static final int CLOSE = 3;
+
+    // Factory and in-flight limit of one document type
+    private static class Registration {
+        final DocumentFactory factory;
+        final Semaphore permits;
+
+        Registration(DocumentFactory factory, int maxInFlight) {
+            this.factory = factory;
+            this.permits = new Semaphore(maxInFlight);
+        }
+    }
+
+    // A job on its way through the stages; only one stage works on it at a time
+    private static class Task {
+        final DocumentJob job;
+        final Registration registration;
+        final long enteredAt;
+        Document document;
+        boolean opened;
+        boolean permitHeld;
+        PipelineResult.Failure failure;
+
+        Task(DocumentJob job, Registration registration, long enteredAt) {
+            this.job = job;
+            this.registration = registration;
+            this.enteredAt = enteredAt;
+        }
+    }
+
+    // Tells a stage worker to stop; queued after the last real task
+    private static final Task END = new Task(null, null, 0);
+
+    private final Map<String, Registration> registry;
+    private final int queueCapacity;
+    private final int workersPerStage;
+
+    private DocumentPipeline(Builder builder) {
+        Map<String, Registration> registrations = new HashMap<>();
+        builder.factories.forEach((type, factory) ->
+            registrations.put(type, new Registration(factory, builder.limits.get(type))));
+        this.registry = Collections.unmodifiableMap(registrations);
+        this.queueCapacity = builder.queueCapacity;
+        this.workersPerStage = builder.workersPerStage;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<String, DocumentFactory> factories = new LinkedHashMap<>();
+        private final Map<String, Integer> limits = new HashMap<>();
+        private int queueCapacity = 256;
+        private int workersPerStage = 64;
+
+        // Jobs of this type are created by the factory, with at most maxInFlight in the pipeline
+        public Builder register(String type, DocumentFactory factory, int maxInFlight) {
+            if (type == null || factory == null) {
+                throw new IllegalArgumentException("Type and factory cannot be null");
+            }
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            factories.put(type, factory);
+            limits.put(type, maxInFlight);
+            return this;
+        }
+
+        // Capacity of each stage's input queue
+        public Builder queueCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive");
+            }
+            this.queueCapacity = capacity;
+            return this;
+        }
+
+        // Virtual threads working on each stage
+        public Builder workersPerStage(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Workers per stage must be positive");
+            }
+            this.workersPerStage = workers;
+            return this;
+        }
+
+        public DocumentPipeline build() {
+            if (factories.isEmpty()) {
+                throw new IllegalStateException("No document types registered");
+            }
+            return new DocumentPipeline(this);
+        }
+    }
+
+    // Runs every job and returns once all of them are closed or failed
+    // Jobs of an unregistered type fail without entering the pipeline. If the caller is
+    // interrupted or the job stream throws, the workers are stopped, opened documents are
+    // closed and permits returned before the exception propagates.
+    public PipelineResult process(Stream<DocumentJob> jobs) throws InterruptedException {
+        Map<String, StageMetrics> metrics = new LinkedHashMap<>();
+        for (String stage : STAGES) {
+            metrics.put(stage, new StageMetrics(stage));
+        }
+        StageMetrics endToEnd = new StageMetrics("end-to-end");
+        Queue<PipelineResult.Failure> failures = new ConcurrentLinkedQueue<>();
+        LongAdder completed = new LongAdder();
+
+        List<BlockingQueue<Task>> queues = new ArrayList<>();
+        for (int s = 0; s < STAGES.length; s++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        CountDownLatch[] stageDone = new CountDownLatch[STAGES.length];
+        List<Thread> workers = new ArrayList<>();
+        for (int s = 0; s < STAGES.length; s++) {
+            stageDone[s] = new CountDownLatch(workersPerStage);
+            StageMetrics stageMetrics = metrics.get(STAGES[s]);
+            for (int w = 0; w < workersPerStage; w++) {
+                int stage = s;
+                workers.add(Thread.ofVirtual().name("pipeline-" + STAGES[s] + "-" + w).start(() ->
+                    runStage(stage, queues, stageMetrics, stageDone[stage], endToEnd, failures, completed)));
+            }
+        }
+
+        long start = System.nanoTime();
+        long submitted = 0;
+        boolean finished = false;
+        try {
+            for (DocumentJob job : (Iterable<DocumentJob>) jobs::iterator) {
+                submitted++;
+                Registration registration = registry.get(job.getType());
+                if (registration == null) {
+                    failures.add(new PipelineResult.Failure(job, "resolve",
+                        new IllegalArgumentException("Unknown document type: " + job.getType())));
+                    continue;
+                }
+                queues.get(OPEN).put(new Task(job, registration, System.nanoTime()));
+            }
+            // Stop the stages front to back, so each one has drained before the next is told
+            for (int s = 0; s < STAGES.length; s++) {
+                for (int w = 0; w < workersPerStage; w++) {
+                    queues.get(s).put(END);
+                }
+                stageDone[s].await();
+            }
+            finished = true;
+        } finally {
+            // Interrupted, or the job stream threw: the permits belong to the pipeline and
+            // must all be back before the next process() call
+            if (!finished) {
+                abort(workers, queues);
+            }
+        }
+        return new PipelineResult(submitted, completed.sum(), new ArrayList<>(failures),
+                                  System.nanoTime() - start, metrics, endToEnd);
+    }
+
+    private void runStage(int stage, List<BlockingQueue<Task>> queues, StageMetrics metrics, CountDownLatch done,
+                          StageMetrics endToEnd, Queue<PipelineResult.Failure> failures, LongAdder completed) {
+        BlockingQueue<Task> in = queues.get(stage);
+        Task task = null;
+        try {
+            while (true) {
+                task = in.take();
+                if (task == END) {
+                    return;
+                }
+                // Failed jobs skip the remaining stages, except that opened documents still get closed
+                if (task.failure == null || (stage == CLOSE && task.opened)) {
+                    if (stage == OPEN) {
+                        // Waiting for a slot of this type does not count as open time
+                        task.registration.permits.acquire();
+                        task.permitHeld = true;
+                    }
+                    long begin = System.nanoTime();
+                    boolean failed = false;
+                    try {
+                        runStep(stage, task);
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        if (task.failure == null) {
+                            task.failure = new PipelineResult.Failure(task.job, STAGES[stage], e);
+                        }
+                    }
+                    metrics.record(System.nanoTime() - begin, failed);
+                }
+                if (stage < CLOSE) {
+                    queues.get(stage + 1).put(task);
+                } else {
+                    finish(task, endToEnd, failures, completed);
+                }
+                task = null;
+            }
+        } catch (InterruptedException e) {
+            // process() is aborting; it cleans up what is still queued
+            if (task != null && task != END) {
+                abandon(task);
+            }
+        } finally {
+            done.countDown();
+        }
+    }
+
+    // Stops every worker, then closes the documents and returns the permits of all tasks
+    // still in the queues. Workers clean up the task in their hands themselves.
+    private static void abort(List<Thread> workers, List<BlockingQueue<Task>> queues) {
+        workers.forEach(Thread::interrupt);
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (true) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (BlockingQueue<Task> queue : queues) {
+            for (Task task = queue.poll(); task != null; task = queue.poll()) {
+                if (task != END) {
+                    abandon(task);
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void abandon(Task task) {
+        try {
+            if (task.opened) {
+                task.document.close();
+                task.opened = false;
+            }
+        } catch (RuntimeException e) {
+            // Nothing to report it to; the permit must still go back
+        } finally {
+            if (task.permitHeld) {
+                task.permitHeld = false;
+                task.registration.permits.release();
+            }
+        }
+    }
+
+    private void runStep(int stage, Task task) {
+        switch (stage) {
+            case OPEN:
+                task.document = task.registration.factory.createDocument();
+                task.document.open();
+                task.opened = true;
+                break;
+            case TRANSFORM:
+                task.job.getTransform().accept(task.document);
+                break;
+            case SAVE:
+                task.document.save();
+                break;
+            default:
+                task.document.close();
+                task.opened = false;
+                break;
+        }
+    }
+
+    private static void finish(Task task, StageMetrics endToEnd, Queue<PipelineResult.Failure> failures,
+                               LongAdder completed) {
+        // Only cleanly closed documents go back to their factory (a pooling factory reuses them)
+        try {
+            if (task.failure == null) {
+                task.registration.factory.releaseDocument(task.document);
+                completed.increment();
+            }
+        } catch (RuntimeException e) {
+            task.failure = new PipelineResult.Failure(task.job, "release", e);
+        } finally {
+            if (task.failure != null) {
+                failures.add(task.failure);
+            }
+            if (task.permitHeld) {
+                task.permitHeld = false;
+                task.registration.permits.release();
+            }
+            endToEnd.record(System.nanoTime() - task.enteredAt, task.failure != null);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package document.pipeline;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Outcome of one DocumentPipeline.process() call
+public class PipelineResult {
+
+    // A job that did not make it through all stages
+    public static class Failure {
+        private final DocumentJob job;
+        private final String stage;
+        private final Throwable error;
+
+        Failure(DocumentJob job, String stage, Throwable error) {
+            this.job = job;
+            this.stage = stage;
+            this.error = error;
+        }
+
+        public DocumentJob getJob() { return job; }
+        public String getStage() { return stage; }
+        public Throwable getError() { return error; }
+
+        @Override
+        public String toString() {
+            return job + " failed in " + stage + ": " + error;
+        }
+    }
+
+    private final long submitted;
+    private final long completed;
+    private final List<Failure> failures;
+    private final long elapsedNanos;
+    private final Map<String, StageMetrics> stages;
+    private final StageMetrics endToEnd;
+
+    PipelineResult(long submitted, long completed, List<Failure> failures, long elapsedNanos,
+                   Map<String, StageMetrics> stages, StageMetrics endToEnd) {
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failures = List.copyOf(failures);
+        this.elapsedNanos = elapsedNanos;
+        this.stages = stages;
+        this.endToEnd = endToEnd;
+    }
+
+    public long getSubmittedCount() {
+        return submitted;
+    }
+
+    // Jobs that went through every stage without an error
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    // Completed jobs per second
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : completed / (elapsedNanos / 1e9);
+    }
+
+    // Metrics per stage, in pipeline order: open, transform, save, close
+    public Map<String, StageMetrics> getStageMetrics() {
+        return stages;
+    }
+
+    // Time from a job entering the pipeline until it was closed, queue waits included
+    public StageMetrics getEndToEndMetrics() {
+        return endToEnd;
+    }
+
+    public void printSummary() {
+        System.out.printf("Jobs: %,d submitted, %,d completed, %,d failed in %,d ms (%,.0f jobs/s)\n",
+                          submitted, completed, failures.size(), getElapsedMillis(), getThroughput());
+        for (StageMetrics stage : stages.values()) {
+            System.out.printf("  %s   %,10.0f/s\n", stage, stage.getThroughput(elapsedNanos, TimeUnit.NANOSECONDS));
+        }
+        System.out.println("  " + endToEnd);
+    }
+}
@@ -0,0 +1,83 @@
+package document.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Throughput and latency of one pipeline stage, safe to update from many threads
+// Latencies go into power-of-two buckets, so percentiles are accurate to within a factor of two.
+public class StageMetrics {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            failures.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(nanos, 1)) - 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0 < p <= 100)
+    public double getPercentileMillis(double p) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * p / 100.0);
+        long seen = 0;
+        for (int i = 0; i < 64; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(i == 63 ? Long.MAX_VALUE : (1L << (i + 1)), maxNanos.get()) / 1e6;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    // Items per second over the given wall-clock time
+    public double getThroughput(long elapsed, TimeUnit unit) {
+        long nanos = unit.toNanos(elapsed);
+        return nanos == 0 ? 0 : count.sum() / (nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-10s %,8d done %,5d failed   mean %8.3f ms   p50 %8.3f ms   p99 %8.3f ms   max %8.3f ms",
+                             name, getCount(), getFailureCount(), getMeanMillis(),
+                             getPercentileMillis(50), getPercentileMillis(99), getMaxMillis());
+    }
+}
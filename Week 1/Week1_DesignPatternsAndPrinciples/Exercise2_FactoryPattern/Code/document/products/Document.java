@@ -7,4 +7,9 @@ public interface Document {
     void save();
     void close();
     String getType();
+
+    // Called after close() when a pool takes the document back
+    // Documents holding per-use state must return to their freshly created state here
+    default void reset() {
+    }
 }
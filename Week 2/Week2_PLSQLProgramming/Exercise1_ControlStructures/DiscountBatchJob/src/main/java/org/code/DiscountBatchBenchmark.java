@@ -0,0 +1,98 @@
+package org.code;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Rows per second of the row-at-a-time port against the batch job, on identical H2 databases
+// Each run gets its own freshly populated in-memory database, and the resulting rates are
+// compared at the end. Embedded H2 has no network, so every round-trip the batch job saves
+// is worth far more against a remote database than these numbers show.
+// Run with: mvn compile exec:java [-Dexec.args="<customers> <loans per customer>"]
+public class DiscountBatchBenchmark {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 15);
+    private static final long SEED = 42;
+
+    // {batch size, commit interval}
+    private static final int[][] BATCH_CONFIGS = {{100, 1_000}, {1_000, 10_000}, {5_000, 50_000}};
+
+    public static void main(String[] args) throws SQLException {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int loansPerCustomer = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        System.out.println("=== SENIOR DISCOUNT BATCH BENCHMARK ===");
+        System.out.printf("%,d customers, %,d loans each (H2 in memory)%n%n", customers, loansPerCustomer);
+        System.out.printf("%-28s %12s %10s %10s %14s%n", "Approach", "Loans", "Commits", "Time ms", "Rows/sec");
+
+        // Warm up both code paths on a small database
+        rowByRow(database("warmup-row", 2_000, loansPerCustomer));
+        batch(database("warmup-batch", 2_000, loansPerCustomer), 1_000, 10_000);
+
+        JdbcDataSource rowByRowDb = database("row-by-row", customers, loansPerCustomer);
+        long start = System.nanoTime();
+        long updated = rowByRow(rowByRowDb);
+        long elapsed = System.nanoTime() - start;
+        print("row by row (PL/SQL port)", updated, 1, elapsed);
+        BigDecimal expected = checksum(rowByRowDb);
+
+        for (int[] config : BATCH_CONFIGS) {
+            JdbcDataSource batchDb = database("batch-" + config[0], customers, loansPerCustomer);
+            SeniorDiscountJob.Result result = batch(batchDb, config[0], config[1]);
+            print("batch " + config[0] + ", commit " + config[1], result.loansUpdated(), result.commits(),
+                  result.elapsedNanos());
+            if (!checksum(batchDb).equals(expected)) {
+                throw new IllegalStateException("Batch job produced different rates than the row-by-row job");
+            }
+        }
+        System.out.println("\nAll runs produced identical interest rates (sum " + expected + ")");
+    }
+
+    private static long rowByRow(JdbcDataSource dataSource) throws SQLException {
+        PrintStream dbmsOutput = new PrintStream(OutputStream.nullOutputStream());
+        return new RowByRowDiscountJob(dataSource, dbmsOutput).run(AS_OF);
+    }
+
+    private static SeniorDiscountJob.Result batch(JdbcDataSource dataSource, int batchSize, int commitInterval)
+            throws SQLException {
+        return SeniorDiscountJob.builder(dataSource)
+            .runId("benchmark")
+            .asOf(AS_OF)
+            .batchSize(batchSize)
+            .commitInterval(commitInterval)
+            .build()
+            .run();
+    }
+
+    private static JdbcDataSource database(String name, int customers, int loansPerCustomer) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection()) {
+            DiscountSchema.create(connection);
+            DiscountSchema.populate(connection, customers, loansPerCustomer, AS_OF, SEED);
+        }
+        return dataSource;
+    }
+
+    private static BigDecimal checksum(JdbcDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT SUM(interest_rate) FROM loans")) {
+            row.next();
+            return row.getBigDecimal(1);
+        }
+    }
+
+    private static void print(String approach, long loans, int commits, long nanos) {
+        System.out.printf("%-28s %,12d %,10d %,10d %,14.0f%n", approach, loans, commits,
+                          TimeUnit.NANOSECONDS.toMillis(nanos), loans * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,86 @@
+package org.code;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Creates the customers/loans tables and fills them with generated test data
+public final class DiscountSchema {
+
+    private DiscountSchema() {
+    }
+
+    public static void create(Connection connection) throws SQLException {
+        String script;
+        try (InputStream in = DiscountSchema.class.getResourceAsStream("/discount_schema.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("discount_schema.sql not found on the class path");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read discount_schema.sql", e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    // Customers aged 20 to 90 on asOf (1 in 50 without a birth date), each with
+    // loansPerCustomer loans of which about 80 % are ACTIVE; the same seed gives the same data
+    public static void populate(Connection connection, int customers, int loansPerCustomer,
+                                LocalDate asOf, long seed) throws SQLException {
+        Random random = new Random(seed);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement customer = connection.prepareStatement(
+                 "INSERT INTO customers (customer_id, name, date_of_birth, balance) VALUES (?, ?, ?, ?)");
+             PreparedStatement loan = connection.prepareStatement(
+                 "INSERT INTO loans (loan_id, customer_id, interest_rate, loan_status, due_date) VALUES (?, ?, ?, ?, ?)")) {
+            long loanId = 1;
+            for (long id = 1; id <= customers; id++) {
+                customer.setLong(1, id);
+                customer.setString(2, "Customer " + id);
+                if (random.nextInt(50) == 0) {
+                    customer.setNull(3, java.sql.Types.DATE);
+                } else {
+                    customer.setDate(3, Date.valueOf(asOf.minusDays(20 * 365 + random.nextInt(70 * 365))));
+                }
+                customer.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(5_000_000), 2));
+                customer.addBatch();
+                for (int l = 0; l < loansPerCustomer; l++) {
+                    loan.setLong(1, loanId++);
+                    loan.setLong(2, id);
+                    loan.setBigDecimal(3, BigDecimal.valueOf(3_000_000 + random.nextInt(12_000_000), 6));
+                    loan.setString(4, random.nextInt(5) == 0 ? "CLOSED" : "ACTIVE");
+                    loan.setDate(5, Date.valueOf(asOf.plusDays(random.nextInt(365))));
+                    loan.addBatch();
+                }
+                if (id % 1_000 == 0) {
+                    customer.executeBatch();
+                    loan.executeBatch();
+                }
+            }
+            customer.executeBatch();
+            loan.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
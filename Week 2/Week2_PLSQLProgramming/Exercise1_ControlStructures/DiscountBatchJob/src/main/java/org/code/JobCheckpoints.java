@@ -0,0 +1,57 @@
+package org.code;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Reads and writes batch_job_checkpoints on the caller's connection and transaction
+final class JobCheckpoints {
+
+    private static final String COMPLETED = "COMPLETED";
+    private static final String RUNNING = "RUNNING";
+
+    record Checkpoint(long lastLoanId, long loansUpdated, boolean completed) { }
+
+    private JobCheckpoints() {
+    }
+
+    static Checkpoint load(Connection connection, String runId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                 "SELECT last_loan_id, loans_updated, status FROM batch_job_checkpoints WHERE run_id = ?")) {
+            select.setString(1, runId);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return null;
+                }
+                return new Checkpoint(row.getLong(1), row.getLong(2), COMPLETED.equals(row.getString(3)));
+            }
+        }
+    }
+
+    // Update first and insert only for a new run, which works without a MERGE statement
+    static void save(Connection connection, String runId, long lastLoanId, long loansUpdated,
+                     boolean completed) throws SQLException {
+        String status = completed ? COMPLETED : RUNNING;
+        try (PreparedStatement update = connection.prepareStatement(
+                 "UPDATE batch_job_checkpoints SET last_loan_id = ?, loans_updated = ?, status = ?, "
+                 + "updated_at = CURRENT_TIMESTAMP WHERE run_id = ?")) {
+            update.setLong(1, lastLoanId);
+            update.setLong(2, loansUpdated);
+            update.setString(3, status);
+            update.setString(4, runId);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO batch_job_checkpoints (run_id, last_loan_id, loans_updated, status, updated_at) "
+                 + "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)")) {
+            insert.setString(1, runId);
+            insert.setLong(2, lastLoanId);
+            insert.setLong(3, loansUpdated);
+            insert.setString(4, status);
+            insert.executeUpdate();
+        }
+    }
+}
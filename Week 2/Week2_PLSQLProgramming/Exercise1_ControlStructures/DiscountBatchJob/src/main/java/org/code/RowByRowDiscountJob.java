@@ -0,0 +1,86 @@
+package org.code;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Period;
+
+// Line-for-line port of scenario1_discount.sql, kept as the baseline for SeniorDiscountJob
+// One query for all customers, one query per senior customer for their active loans, one
+// UPDATE per loan and one output line per row, all in a single transaction.
+public class RowByRowDiscountJob {
+
+    private static final BigDecimal DISCOUNT_RATE = new BigDecimal("0.01");
+    private static final int AGE_THRESHOLD = 60;
+    private static final int RATE_SCALE = 6;
+
+    private final DataSource dataSource;
+    private final PrintStream output;
+
+    // output plays the part of DBMS_OUTPUT
+    public RowByRowDiscountJob(DataSource dataSource, PrintStream output) {
+        this.dataSource = dataSource;
+        this.output = output;
+    }
+
+    // Returns the number of loans updated
+    public long run(LocalDate asOf) throws SQLException {
+        long customersProcessed = 0;
+        long loansUpdated = 0;
+        output.println("Starting loan interest rate discount process for senior customers...");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement customers = connection.prepareStatement(
+                     "SELECT customer_id, name, date_of_birth FROM customers "
+                     + "WHERE date_of_birth IS NOT NULL ORDER BY customer_id");
+                 PreparedStatement loans = connection.prepareStatement(
+                     "SELECT loan_id, interest_rate FROM loans WHERE customer_id = ? AND loan_status = 'ACTIVE'");
+                 PreparedStatement update = connection.prepareStatement(
+                     "UPDATE loans SET interest_rate = ?, last_modified = CURRENT_TIMESTAMP WHERE loan_id = ?");
+                 ResultSet customer = customers.executeQuery()) {
+                while (customer.next()) {
+                    customersProcessed++;
+                    long customerId = customer.getLong(1);
+                    String name = customer.getString(2);
+                    LocalDate dateOfBirth = customer.getObject(3, LocalDate.class);
+                    int age = Period.between(dateOfBirth, asOf).getYears();
+                    if (age > AGE_THRESHOLD) {
+                        output.println("Processing Customer ID: " + customerId + " (" + name + ") - Age: " + age);
+                        loans.setLong(1, customerId);
+                        try (ResultSet loan = loans.executeQuery()) {
+                            while (loan.next()) {
+                                long loanId = loan.getLong(1);
+                                BigDecimal oldRate = loan.getBigDecimal(2);
+                                BigDecimal newRate = SeniorDiscountJob.discounted(oldRate, DISCOUNT_RATE, RATE_SCALE);
+                                update.setBigDecimal(1, newRate);
+                                update.setLong(2, loanId);
+                                update.executeUpdate();
+                                loansUpdated++;
+                                output.println("  Loan ID: " + loanId + " - Rate changed from "
+                                               + oldRate.setScale(4, RoundingMode.HALF_UP) + "% to "
+                                               + newRate.setScale(4, RoundingMode.HALF_UP) + "%");
+                            }
+                        }
+                    } else {
+                        output.println("Customer ID: " + customerId + " (" + name + ") - Age: " + age
+                                       + " (No discount - under " + AGE_THRESHOLD + ")");
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                output.println("Error occurred during discount processing: " + e.getMessage());
+                connection.rollback();
+                throw e;
+            }
+        }
+        output.println("Total customers processed: " + customersProcessed);
+        output.println("Total loans updated: " + loansUpdated);
+        return loansUpdated;
+    }
+}
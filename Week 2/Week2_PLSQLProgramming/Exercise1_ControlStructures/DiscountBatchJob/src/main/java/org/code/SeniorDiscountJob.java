@@ -0,0 +1,271 @@
+package org.code;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+// Java version of scenario1_discount.sql: lowers the interest rate of every ACTIVE loan of
+// a customer older than the age threshold by the discount rate
+// Instead of a query per customer and an UPDATE round-trip per loan, the job streams one
+// query (customers joined to their active loans, ordered by loan_id) on a read connection
+// and sends the updates on a second connection as JDBC batches of batchSize rows. Every
+// commitInterval rows it commits, and the same transaction records the last loan_id in
+// batch_job_checkpoints. A run that fails can be started again with the same run id and
+// continues after the last committed loan, so no loan is discounted twice. A run id that
+// already completed does nothing. Without an explicit run id, the run is named after asOf
+// ("senior-discount-2026-10-16"), so each day gets one run.
+//
+// Usage:
+//   SeniorDiscountJob.Result result = SeniorDiscountJob.builder(dataSource)
+//       .runId("senior-discount-2026-10")
+//       .batchSize(1_000)
+//       .commitInterval(10_000)
+//       .build()
+//       .run();
+public class SeniorDiscountJob {
+
+    // Reported after every commit
+    public record Progress(long loansUpdated, long lastLoanId, int commits) { }
+
+    public record Result(String runId, long loansUpdated, int commits, long resumedAfterLoanId,
+                         boolean alreadyCompleted, long elapsedNanos) {
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : loansUpdated * 1e9 / elapsedNanos;
+        }
+    }
+
+    private static final String SELECT_LOANS =
+        "SELECT l.loan_id, l.interest_rate FROM loans l "
+        + "JOIN customers c ON c.customer_id = l.customer_id "
+        + "WHERE c.date_of_birth <= ? AND l.loan_status = 'ACTIVE' AND l.loan_id > ? "
+        + "ORDER BY l.loan_id";
+
+    private static final String UPDATE_LOAN =
+        "UPDATE loans SET interest_rate = ?, last_modified = CURRENT_TIMESTAMP "
+        + "WHERE loan_id = ? AND loan_status = 'ACTIVE'";
+
+    private final DataSource dataSource;
+    private final String runId;
+    private final BigDecimal discountRate;
+    private final int rateScale;
+    private final int ageThreshold;
+    private final LocalDate asOf;
+    private final int batchSize;
+    private final int commitInterval;
+    private final int fetchSize;
+    private final Consumer<Progress> progressListener;
+
+    private SeniorDiscountJob(Builder builder) {
+        this.dataSource = builder.dataSource;
+        this.runId = builder.runId != null ? builder.runId : "senior-discount-" + builder.asOf;
+        this.discountRate = builder.discountRate;
+        this.rateScale = builder.rateScale;
+        this.ageThreshold = builder.ageThreshold;
+        this.asOf = builder.asOf;
+        this.batchSize = builder.batchSize;
+        this.commitInterval = builder.commitInterval;
+        this.fetchSize = builder.fetchSize;
+        this.progressListener = builder.progressListener;
+    }
+
+    public static Builder builder(DataSource dataSource) {
+        return new Builder(dataSource);
+    }
+
+    // Same formula as the PL/SQL block (rate - rate * discount), rounded to the column's scale
+    public static BigDecimal discounted(BigDecimal rate, BigDecimal discountRate, int scale) {
+        return rate.subtract(rate.multiply(discountRate)).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    // Customers born on or before this date are older than the threshold on asOf
+    static LocalDate birthDateCutoff(LocalDate asOf, int ageThreshold) {
+        return asOf.minusYears(ageThreshold + 1L);
+    }
+
+    public Result run() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection writer = dataSource.getConnection();
+             Connection reader = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            JobCheckpoints.Checkpoint checkpoint = JobCheckpoints.load(writer, runId);
+            writer.commit();
+            if (checkpoint != null && checkpoint.completed()) {
+                return new Result(runId, 0, 0, checkpoint.lastLoanId(), true, System.nanoTime() - start);
+            }
+            long resumeAfter = checkpoint == null ? 0 : checkpoint.lastLoanId();
+            long previouslyUpdated = checkpoint == null ? 0 : checkpoint.loansUpdated();
+
+            // Some drivers only stream (honour the fetch size) outside auto-commit
+            reader.setAutoCommit(false);
+            reader.setReadOnly(true);
+            try (PreparedStatement select = reader.prepareStatement(SELECT_LOANS,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 PreparedStatement update = writer.prepareStatement(UPDATE_LOAN)) {
+                select.setFetchSize(fetchSize);
+                select.setDate(1, Date.valueOf(birthDateCutoff(asOf, ageThreshold)));
+                select.setLong(2, resumeAfter);
+
+                long updated = 0;
+                long committed = 0;
+                long lastLoanId = resumeAfter;
+                int batched = 0;
+                int uncommitted = 0;
+                int commits = 0;
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        lastLoanId = rows.getLong(1);
+                        BigDecimal rate = rows.getBigDecimal(2);
+                        update.setBigDecimal(1, discounted(rate, discountRate, rateScale));
+                        update.setLong(2, lastLoanId);
+                        update.addBatch();
+                        batched++;
+                        uncommitted++;
+                        if (batched == batchSize || uncommitted >= commitInterval) {
+                            updated += countUpdated(update.executeBatch());
+                            batched = 0;
+                        }
+                        if (uncommitted >= commitInterval) {
+                            JobCheckpoints.save(writer, runId, lastLoanId, previouslyUpdated + updated, false);
+                            writer.commit();
+                            commits++;
+                            committed = updated;
+                            uncommitted = 0;
+                            progressListener.accept(new Progress(previouslyUpdated + updated, lastLoanId, commits));
+                        }
+                    }
+                }
+                if (batched > 0) {
+                    updated += countUpdated(update.executeBatch());
+                }
+                JobCheckpoints.save(writer, runId, lastLoanId, previouslyUpdated + updated, true);
+                writer.commit();
+                commits++;
+                if (updated != committed) {
+                    progressListener.accept(new Progress(previouslyUpdated + updated, lastLoanId, commits));
+                }
+                return new Result(runId, updated, commits, resumeAfter, false, System.nanoTime() - start);
+            } catch (SQLException | RuntimeException e) {
+                // Everything since the last checkpoint is undone; a rerun picks up from there
+                writer.rollback();
+                throw e;
+            } finally {
+                reader.rollback();
+            }
+        }
+    }
+
+    // A loan closed since the read matches no row; drivers may report SUCCESS_NO_INFO instead of 1
+    private static int countUpdated(int[] counts) {
+        int updated = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    public static class Builder {
+        private final DataSource dataSource;
+        private String runId;
+        private BigDecimal discountRate = new BigDecimal("0.01");
+        private int rateScale = 6;
+        private int ageThreshold = 60;
+        private LocalDate asOf = LocalDate.now();
+        private int batchSize = 1_000;
+        private int commitInterval = 10_000;
+        private int fetchSize = 1_000;
+        private Consumer<Progress> progressListener = progress -> { };
+
+        private Builder(DataSource dataSource) {
+            if (dataSource == null) {
+                throw new IllegalArgumentException("Data source cannot be null");
+            }
+            this.dataSource = dataSource;
+        }
+
+        // Identifies the run in batch_job_checkpoints; reuse it to resume, change it for a new run.
+        // Defaults to "senior-discount-" + asOf
+        public Builder runId(String runId) {
+            if (runId == null || runId.isBlank()) {
+                throw new IllegalArgumentException("Run id cannot be empty");
+            }
+            this.runId = runId;
+            return this;
+        }
+
+        // 0.01 lowers each rate by 1 % of itself
+        public Builder discountRate(BigDecimal discountRate) {
+            if (discountRate.signum() < 0 || discountRate.compareTo(BigDecimal.ONE) >= 0) {
+                throw new IllegalArgumentException("Discount rate must be in [0, 1)");
+            }
+            this.discountRate = discountRate;
+            return this;
+        }
+
+        // Decimal places of loans.interest_rate
+        public Builder rateScale(int rateScale) {
+            this.rateScale = rateScale;
+            return this;
+        }
+
+        // Customers strictly older than this many whole years get the discount
+        public Builder ageThreshold(int ageThreshold) {
+            this.ageThreshold = ageThreshold;
+            return this;
+        }
+
+        // The day ages are computed for, today by default
+        public Builder asOf(LocalDate asOf) {
+            if (asOf == null) {
+                throw new IllegalArgumentException("As-of date cannot be null");
+            }
+            this.asOf = asOf;
+            return this;
+        }
+
+        // Updates sent to the database in one executeBatch call
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        // Updated rows per transaction and checkpoint
+        public Builder commitInterval(int commitInterval) {
+            if (commitInterval <= 0) {
+                throw new IllegalArgumentException("Commit interval must be positive");
+            }
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        // Rows the driver fetches per round-trip while streaming the loans
+        public Builder fetchSize(int fetchSize) {
+            if (fetchSize <= 0) {
+                throw new IllegalArgumentException("Fetch size must be positive");
+            }
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public Builder progressListener(Consumer<Progress> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public SeniorDiscountJob build() {
+            return new SeniorDiscountJob(this);
+        }
+    }
+}
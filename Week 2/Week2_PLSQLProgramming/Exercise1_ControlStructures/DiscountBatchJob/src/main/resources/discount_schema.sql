@@ -0,0 +1,29 @@
+-- H2 stand-in for the Oracle tables used by scenario1_discount.sql
+CREATE TABLE IF NOT EXISTS customers (
+  customer_id   BIGINT PRIMARY KEY,
+  name          VARCHAR(100) NOT NULL,
+  date_of_birth DATE,
+  balance       DECIMAL(15, 2) DEFAULT 0 NOT NULL,
+  is_vip        CHAR(1) DEFAULT 'N' NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+  loan_id       BIGINT PRIMARY KEY,
+  customer_id   BIGINT NOT NULL REFERENCES customers (customer_id),
+  interest_rate DECIMAL(12, 6) NOT NULL,
+  loan_status   VARCHAR(10) NOT NULL,
+  due_date      DATE,
+  last_modified TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_loans_customer_status ON loans (customer_id, loan_status);
+CREATE INDEX IF NOT EXISTS idx_customers_birth ON customers (date_of_birth);
+
+-- One row per job run: how far it got, committed together with the updates it covers
+CREATE TABLE IF NOT EXISTS batch_job_checkpoints (
+  run_id        VARCHAR(100) PRIMARY KEY,
+  last_loan_id  BIGINT NOT NULL,
+  loans_updated BIGINT NOT NULL,
+  status        VARCHAR(10) NOT NULL,
+  updated_at    TIMESTAMP NOT NULL
+);
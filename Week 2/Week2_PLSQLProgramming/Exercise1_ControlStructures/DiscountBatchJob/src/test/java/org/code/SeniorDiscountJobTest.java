@@ -0,0 +1,220 @@
+package org.code;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeniorDiscountJobTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 15);
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = newDatabase();
+    }
+
+    private static JdbcDataSource newDatabase() throws SQLException {
+        JdbcDataSource db = new JdbcDataSource();
+        db.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = db.getConnection()) {
+            DiscountSchema.create(connection);
+        }
+        return db;
+    }
+
+    private SeniorDiscountJob.Builder job(JdbcDataSource db) {
+        return SeniorDiscountJob.builder(db).asOf(AS_OF).runId("test-run");
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static Map<Long, BigDecimal> rates(JdbcDataSource db) throws SQLException {
+        Map<Long, BigDecimal> rates = new LinkedHashMap<>();
+        try (Connection connection = db.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT loan_id, interest_rate FROM loans ORDER BY loan_id")) {
+            while (row.next()) {
+                rates.put(row.getLong(1), row.getBigDecimal(2));
+            }
+        }
+        return rates;
+    }
+
+    private static void populate(JdbcDataSource db, int customers) throws SQLException {
+        try (Connection connection = db.getConnection()) {
+            DiscountSchema.populate(connection, customers, 3, AS_OF, 7);
+        }
+    }
+
+    @Test
+    void testDiscountsOnlyActiveLoansOfCustomersOverSixty() throws SQLException {
+        execute("INSERT INTO customers (customer_id, name, date_of_birth) VALUES "
+                + "(1, 'Senior', DATE '1950-06-01'), "
+                + "(2, 'Exactly sixty', DATE '1965-06-01'), "
+                + "(3, 'Sixty-one today', DATE '1965-01-15'), "
+                + "(4, 'Unknown age', NULL)",
+                "INSERT INTO loans (loan_id, customer_id, interest_rate, loan_status) VALUES "
+                + "(10, 1, 10.000000, 'ACTIVE'), (11, 1, 5.500000, 'ACTIVE'), (12, 1, 8.000000, 'CLOSED'), "
+                + "(20, 2, 10.000000, 'ACTIVE'), (30, 3, 7.250000, 'ACTIVE'), (40, 4, 10.000000, 'ACTIVE')");
+
+        SeniorDiscountJob.Result result = job(dataSource).build().run();
+
+        assertEquals(3, result.loansUpdated());
+        Map<Long, BigDecimal> rates = rates(dataSource);
+        assertEquals(new BigDecimal("9.900000"), rates.get(10L));
+        assertEquals(new BigDecimal("5.445000"), rates.get(11L));
+        assertEquals(new BigDecimal("8.000000"), rates.get(12L), "Closed loans keep their rate");
+        assertEquals(new BigDecimal("10.000000"), rates.get(20L), "Sixty is not above sixty");
+        assertEquals(new BigDecimal("7.177500"), rates.get(30L));
+        assertEquals(new BigDecimal("10.000000"), rates.get(40L), "Customers without a birth date are skipped");
+    }
+
+    @Test
+    void testSameResultAsRowByRowJob() throws SQLException {
+        JdbcDataSource rowByRowDb = newDatabase();
+        populate(rowByRowDb, 2_000);
+        populate(dataSource, 2_000);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long expected = new RowByRowDiscountJob(rowByRowDb, new PrintStream(output, true)).run(AS_OF);
+        SeniorDiscountJob.Result result = job(dataSource).batchSize(64).commitInterval(500).build().run();
+
+        assertEquals(expected, result.loansUpdated());
+        assertEquals(rates(rowByRowDb), rates(dataSource));
+        assertTrue(output.toString().contains("Total loans updated: " + expected));
+        assertEquals((expected + 499) / 500 + (expected % 500 == 0 ? 1 : 0), result.commits());
+    }
+
+    @Test
+    void testResumesAfterLastCheckpoint() throws SQLException {
+        JdbcDataSource expectedDb = newDatabase();
+        populate(expectedDb, 1_000);
+        populate(dataSource, 1_000);
+        long eligible = job(expectedDb).build().run().loansUpdated();
+
+        List<SeniorDiscountJob.Progress> seen = new ArrayList<>();
+        SeniorDiscountJob crashing = job(dataSource).batchSize(50).commitInterval(200)
+            .progressListener(progress -> {
+                seen.add(progress);
+                if (progress.commits() == 2) {
+                    throw new IllegalStateException("Simulated crash");
+                }
+            })
+            .build();
+        assertThrows(IllegalStateException.class, crashing::run);
+        long checkpoint = seen.get(1).lastLoanId();
+
+        SeniorDiscountJob.Result resumed = job(dataSource).batchSize(50).commitInterval(200).build().run();
+
+        assertEquals(checkpoint, resumed.resumedAfterLoanId());
+        assertEquals(eligible - 400, resumed.loansUpdated());
+        assertEquals(rates(expectedDb), rates(dataSource), "Every loan is discounted exactly once");
+    }
+
+    @Test
+    void testCompletedRunIsNotAppliedAgain() throws SQLException {
+        populate(dataSource, 200);
+        SeniorDiscountJob.Result first = job(dataSource).build().run();
+        Map<Long, BigDecimal> afterFirst = rates(dataSource);
+
+        SeniorDiscountJob.Result second = job(dataSource).build().run();
+
+        assertFalse(first.alreadyCompleted());
+        assertTrue(second.alreadyCompleted());
+        assertEquals(0, second.loansUpdated());
+        assertEquals(afterFirst, rates(dataSource));
+
+        SeniorDiscountJob.Result newRun = job(dataSource).runId("next-month").build().run();
+        assertEquals(first.loansUpdated(), newRun.loansUpdated(), "A new run id discounts again");
+    }
+
+    @Test
+    void testDefaultRunIdFollowsAsOfDate() throws SQLException {
+        populate(dataSource, 200);
+        SeniorDiscountJob.Result first = SeniorDiscountJob.builder(dataSource).asOf(AS_OF).build().run();
+        SeniorDiscountJob.Result sameDay = SeniorDiscountJob.builder(dataSource).asOf(AS_OF).build().run();
+        SeniorDiscountJob.Result nextMonth = SeniorDiscountJob.builder(dataSource)
+            .asOf(AS_OF.plusMonths(1)).build().run();
+
+        assertEquals("senior-discount-2026-01-15", first.runId());
+        assertTrue(first.loansUpdated() > 0);
+        assertTrue(sameDay.alreadyCompleted());
+        assertEquals("senior-discount-2026-02-15", nextMonth.runId());
+        assertFalse(nextMonth.alreadyCompleted());
+        assertTrue(nextMonth.loansUpdated() > 0, "A later date discounts again without a run id");
+    }
+
+    @Test
+    void testFailedChunkIsRolledBackToLastCheckpoint() throws SQLException {
+        execute("INSERT INTO customers (customer_id, name, date_of_birth) VALUES (1, 'Senior', DATE '1940-03-03')");
+        for (long loanId = 1; loanId <= 10; loanId++) {
+            execute("INSERT INTO loans (loan_id, customer_id, interest_rate, loan_status) VALUES ("
+                    + loanId + ", 1, " + (loanId == 7 ? "5.000000" : "10.000000") + ", 'ACTIVE')");
+        }
+        // Makes the update of loan 7 fail, in the middle of the second chunk
+        execute("ALTER TABLE loans ADD CONSTRAINT no_495 CHECK (interest_rate <> 4.950000)");
+
+        SeniorDiscountJob failing = job(dataSource).batchSize(2).commitInterval(4).build();
+        assertThrows(SQLException.class, failing::run);
+
+        Map<Long, BigDecimal> rates = rates(dataSource);
+        for (long loanId = 1; loanId <= 4; loanId++) {
+            assertEquals(new BigDecimal("9.900000"), rates.get(loanId), "First chunk was committed");
+        }
+        assertEquals(new BigDecimal("10.000000"), rates.get(5L), "Second chunk was rolled back");
+        assertEquals(new BigDecimal("10.000000"), rates.get(6L), "Second chunk was rolled back");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                 "SELECT last_loan_id, status FROM batch_job_checkpoints WHERE run_id = ?")) {
+            select.setString(1, "test-run");
+            try (ResultSet row = select.executeQuery()) {
+                assertTrue(row.next());
+                assertEquals(4, row.getLong(1));
+                assertEquals("RUNNING", row.getString(2));
+            }
+        }
+    }
+
+    @Test
+    void testBirthDateCutoff() {
+        assertEquals(LocalDate.of(1965, 1, 15), SeniorDiscountJob.birthDateCutoff(AS_OF, 60));
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SeniorDiscountJob.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> job(dataSource).batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> job(dataSource).commitInterval(-1));
+        assertThrows(IllegalArgumentException.class, () -> job(dataSource).discountRate(BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> job(dataSource).runId(" "));
+        assertThrows(IllegalArgumentException.class, () -> job(dataSource).asOf(null));
+    }
+}
@@ -0,0 +1,83 @@
+package org.code;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+// Throughput and latency of the SLF4J call path with several threads logging at once.
+// Each sink runs in its own forked JVM, configured from logback-bench-<sink>.xml or
+// log4j2-bench-<sink>.xml before the backend starts, so the same benchmark measures
+// whichever backend the build put on the classpath.
+//
+//   mvn -Pjmh test-compile exec:exec                                   (Logback)
+//   mvn -Pjmh -Dbackend=log4j2 test-compile exec:exec                  (Log4j2)
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="-p sink=async -t 16"  (one sink, 16 threads)
+//
+// Throughput is in operations per microsecond; SampleTime reports the latency percentiles of
+// single calls. The console sink writes every event to stdout, so its output is long.
+// The async sinks drop INFO events when their queue is full instead of blocking, so their
+// scores include dropped calls - compare the file sizes in target/bench-logs as well.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @Param({"console", "file", "async"})
+    public String sink;
+
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void configure() {
+        System.setProperty("logback.configurationFile", "logback-bench-" + sink + ".xml");
+        System.setProperty("log4j2.configurationFile", "log4j2-bench-" + sink + ".xml");
+        if (!"async".equals(sink)) {
+            // The log4j2 profile makes all loggers async; the synchronous sinks opt out
+            System.setProperty("log4j2.contextSelector",
+                               "org.apache.logging.log4j.core.selector.ClassLoaderContextSelector");
+        }
+        logger = LoggerFactory.getLogger(LoggingBenchmark.class);
+    }
+
+    // Ordinary parameterized call; formatting happens in the appender (or its worker thread)
+    @Benchmark
+    public void parameterized() {
+        logger.info("Order {} accepted for customer {}", "O-100042", 7);
+    }
+
+    // Request-scoped MDC set and cleared around the call, as a web filter would
+    @Benchmark
+    public void withMdc() {
+        MDC.put("requestId", "req-42");
+        try {
+            logger.info("Order {} accepted for customer {}", "O-100042", 7);
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    // Below the configured level: only the level check remains
+    @Benchmark
+    public void disabledDebug() {
+        logger.debug("Order {} accepted for customer {}", "O-100042", 7);
+    }
+}
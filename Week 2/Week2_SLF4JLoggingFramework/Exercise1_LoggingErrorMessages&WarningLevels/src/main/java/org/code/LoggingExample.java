@@ -1,13 +1,47 @@
 package org.code;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 public class LoggingExample {
     private static final Logger logger = LoggerFactory.getLogger(LoggingExample.class);
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         logger.error("This is an error message");
         logger.warn("This is a warning message");
+
+        // Request-scoped context shows up as [%X{requestId}] in every line, also on other threads
+        MDC.put("requestId", "req-42");
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            MdcPropagation.wrap(workers).execute(() -> logger.warn("Inventory low for item {}", "SKU-1001"));
+            logger.info("Request handled in {} ms", 12);
+        } finally {
+            MDC.remove("requestId");
+            workers.shutdown();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+            stopLoggingBackend();
+        }
+    }
+
+    // Drain the async appenders before main returns. Logback's shutdown hook does not run
+    // inside mvn exec:java, which leaves the buffered file empty. Logback's LoggerContext
+    // has a stop() method; it is looked up reflectively so the log4j2 profile still
+    // compiles, and Log4j2 keeps relying on its own shutdown hook.
+    private static void stopLoggingBackend() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        try {
+            factory.getClass().getMethod("stop").invoke(factory);
+        } catch (NoSuchMethodException e) {
+            // Not Logback
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Could not stop the logging backend: " + e);
+        }
     }
 }
@@ -0,0 +1,55 @@
+package org.code;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.slf4j.MDC;
+
+// The MDC is per thread, so work handed to another thread loses it. These wrappers copy the
+// caller's MDC into the task and restore the worker's own MDC afterwards.
+// Async appenders need nothing extra: the MDC is captured with the event when it is logged.
+public final class MdcPropagation {
+
+    private MdcPropagation() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                task.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                return task.call();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    // Executor whose tasks run with the MDC of the thread that submitted them
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -1,5 +1,23 @@
 package org.code;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface ExternalApi {
     String getData();
+
+    // Data for one key; an API without keyed data answers every key like getData()
+    default String getData(String key) {
+        return getData();
+    }
+
+    // Data for several keys in one round-trip, in the same order as the keys
+    // Implementations should override this; the default still makes one call per key
+    default List<String> getDataBatch(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(getData(key));
+        }
+        return values;
+    }
 }
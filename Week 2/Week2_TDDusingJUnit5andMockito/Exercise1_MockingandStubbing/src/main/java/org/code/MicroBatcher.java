@@ -0,0 +1,168 @@
+package org.code;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Collects single requests from many threads and sends them upstream as batches
+// A batch is sent when it has maxBatchSize requests or maxDelay after its first request
+// arrived, whichever comes first. Up to maxInFlight batches run at the same time on
+// virtual threads; while they are all busy, the next full batch waits for one of them and
+// new requests queue behind it. At most maxPending requests may be unanswered at once;
+// beyond that submit() blocks until earlier requests complete. Each request's future
+// completes with the value at its position in the batch result, or with the batch's failure.
+//
+// Usage:
+//   MicroBatcher<String, String> batcher =
+//       new MicroBatcher<>(api::getDataBatch, 64, Duration.ofNanos(200_000), 4);
+//   CompletableFuture<String> value = batcher.submit("key-1");
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private record Request<K, V>(K key, CompletableFuture<V> result) { }
+
+    // Queued by close() behind the last real request
+    private static final Request<?, ?> CLOSE = new Request<>(null, null);
+
+    private final Function<List<K>, List<V>> batchCall;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Semaphore inFlight;
+    private final Semaphore pendingSlots;
+    private final BlockingQueue<Request<K, V>> pending = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    // Allows the in-flight batches plus as many again waiting to be sent
+    public MicroBatcher(Function<List<K>, List<V>> batchCall, int maxBatchSize, Duration maxDelay, int maxInFlight) {
+        this(batchCall, maxBatchSize, maxDelay, maxInFlight, Math.multiplyExact(Math.multiplyExact(maxBatchSize, maxInFlight), 2));
+    }
+
+    public MicroBatcher(Function<List<K>, List<V>> batchCall, int maxBatchSize, Duration maxDelay, int maxInFlight,
+                        int maxPending) {
+        if (batchCall == null || maxDelay == null) {
+            throw new IllegalArgumentException("Batch call and delay cannot be null");
+        }
+        if (maxBatchSize <= 0 || maxInFlight <= 0 || maxPending <= 0 || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Batch size, in-flight and pending limits must be positive, delay not negative");
+        }
+        this.batchCall = batchCall;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.pendingSlots = new Semaphore(maxPending);
+        this.dispatcher = Thread.ofVirtual().name("micro-batcher").start(this::dispatchLoop);
+    }
+
+    // Blocks while maxPending requests are unanswered
+    public CompletableFuture<V> submit(K key) {
+        if (closed) {
+            throw new IllegalStateException("Batcher is closed");
+        }
+        try {
+            pendingSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        Request<K, V> request = new Request<>(key, new CompletableFuture<>());
+        // Every path completes the future, including cancellation by the caller
+        request.result().whenComplete((value, error) -> pendingSlots.release());
+        pending.add(request);
+        // Lost the race with close(): the dispatcher may already be gone, so fail here
+        if (closed && pending.remove(request)) {
+            request.result().completeExceptionally(new IllegalStateException("Batcher is closed"));
+        }
+        return request.result();
+    }
+
+    // Sends what is still pending, then stops; batches already sent complete on their own
+    @Override
+    @SuppressWarnings("unchecked")
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pending.add((Request<K, V>) CLOSE);
+        }
+    }
+
+    private void dispatchLoop() {
+        List<Request<K, V>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+        try {
+            while (!stopping) {
+                Request<K, V> first = pending.take();
+                if (first == CLOSE) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Take whatever is already queued without waiting, then wait out the delay
+                    Request<K, V> next = pending.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 || (next = pending.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                            break;
+                        }
+                    }
+                    if (next == CLOSE) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                List<Request<K, V>> sending = batch;
+                batch = new ArrayList<>(maxBatchSize);
+                Thread.ofVirtual().name("micro-batch").start(() -> send(sending));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            failAll(batch);
+            List<Request<K, V>> left = new ArrayList<>();
+            pending.drainTo(left);
+            failAll(left);
+        }
+    }
+
+    private void send(List<Request<K, V>> batch) {
+        try {
+            List<K> keys = new ArrayList<>(batch.size());
+            for (Request<K, V> request : batch) {
+                keys.add(request.key());
+            }
+            List<V> values = batchCall.apply(keys);
+            if (values == null || values.size() != keys.size()) {
+                throw new IllegalStateException("Batch call returned " + (values == null ? "null" : values.size() + " values")
+                                                + " for " + keys.size() + " keys");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(values.get(i));
+            }
+        } catch (Throwable e) {
+            for (Request<K, V> request : batch) {
+                request.result().completeExceptionally(e);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static <K, V> void failAll(List<Request<K, V>> requests) {
+        for (Request<K, V> request : requests) {
+            if (request != CLOSE) {
+                request.result().completeExceptionally(new IllegalStateException("Batcher is closed"));
+            }
+        }
+    }
+}
@@ -1,13 +1,64 @@
 package org.code;
 
-public class MyService {
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MyService implements AutoCloseable {
+    private static final ExecutorService ASYNC_CALLS = Executors.newVirtualThreadPerTaskExecutor();
+
     private final ExternalApi externalApi;
+    private final MicroBatcher<String, String> batcher;
 
     public MyService(ExternalApi externalApi) {
         this.externalApi = externalApi;
+        this.batcher = null;
+    }
+
+    // Keyed fetches are grouped into getDataBatch calls of up to maxBatchSize keys,
+    // each waiting at most maxDelay for more keys; up to maxInFlight batches run at once
+    public MyService(ExternalApi externalApi, int maxBatchSize, Duration maxDelay, int maxInFlight) {
+        this.externalApi = externalApi;
+        this.batcher = new MicroBatcher<>(externalApi::getDataBatch, maxBatchSize, maxDelay, maxInFlight);
     }
 
     public String fetchData() {
         return externalApi.getData();
     }
+
+    // Does not block the caller; a ResilientExternalApi answers cache hits without a thread hop
+    public CompletableFuture<String> fetchDataAsync() {
+        if (externalApi instanceof ResilientExternalApi resilient) {
+            return resilient.getDataAsync();
+        }
+        return CompletableFuture.supplyAsync(externalApi::getData, ASYNC_CALLS);
+    }
+
+    public String fetchData(String key) {
+        try {
+            return fetchDataAsync(key).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    public CompletableFuture<String> fetchDataAsync(String key) {
+        if (batcher != null) {
+            return batcher.submit(key);
+        }
+        if (externalApi instanceof ResilientExternalApi resilient) {
+            return resilient.getDataAsync(key);
+        }
+        return CompletableFuture.supplyAsync(() -> externalApi.getData(key), ASYNC_CALLS);
+    }
+
+    // Sends any keys still waiting for a batch
+    @Override
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package org.code;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Decorator that protects callers from a slow or failing ExternalApi
+// - Single-flight: concurrent calls while an upstream call is running share its result.
+// - TTL cache: a value younger than the TTL is returned without calling upstream.
+// - Stale-while-revalidate: for a while after the TTL the old value is still returned at
+//   once, while one background call refreshes it.
+// - Timeout: callers give up after the timeout. The upstream call itself cannot be
+//   interrupted and finishes on its own (virtual) thread.
+// - Circuit breaker: after enough consecutive failures upstream is not called at all for a
+//   while; then a single trial call decides whether to close the circuit again.
+// Keyed and batch calls are not cached or shared; they go straight to upstream with
+// the same timeout and circuit breaker.
+public class ResilientExternalApi implements ExternalApi {
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private record Cached(String value, long loadedAt) { }
+
+    private final ExternalApi upstream;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final long timeoutNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Executor executor;
+    private final LongSupplier clock;
+
+    private volatile Cached cached;
+    private final AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<>();
+
+    // Circuit breaker state, guarded by this
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    private ResilientExternalApi(Builder builder) {
+        this.upstream = builder.upstream;
+        this.ttlNanos = builder.ttl.toNanos();
+        this.staleNanos = builder.staleWhileRevalidate.toNanos();
+        this.timeoutNanos = builder.timeout.toNanos();
+        this.failureThreshold = builder.failureThreshold;
+        this.openNanos = builder.openDuration.toNanos();
+        this.executor = builder.executor;
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder(ExternalApi upstream) {
+        return new Builder(upstream);
+    }
+
+    @Override
+    public String getData() {
+        return join(getDataAsync());
+    }
+
+    @Override
+    public String getData(String key) {
+        return join(getDataAsync(key));
+    }
+
+    @Override
+    public List<String> getDataBatch(List<String> keys) {
+        return join(callGuarded(() -> upstream.getDataBatch(keys)));
+    }
+
+    public CompletableFuture<String> getDataAsync(String key) {
+        return callGuarded(() -> upstream.getData(key));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    public CompletableFuture<String> getDataAsync() {
+        Cached entry = cached;
+        if (entry != null) {
+            long age = clock.getAsLong() - entry.loadedAt();
+            if (age < ttlNanos) {
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            if (age < ttlNanos + staleNanos) {
+                load();
+                return CompletableFuture.completedFuture(entry.value());
+            }
+        }
+        return load();
+    }
+
+    public synchronized CircuitState getCircuitState() {
+        return state;
+    }
+
+    // Joins the running upstream call or starts one
+    private CompletableFuture<String> load() {
+        while (true) {
+            CompletableFuture<String> running = inFlight.get();
+            if (running != null) {
+                return running.copy();
+            }
+            CompletableFuture<String> started = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, started)) {
+                callUpstream(started);
+                return started.copy();
+            }
+        }
+    }
+
+    private void callUpstream(CompletableFuture<String> result) {
+        callGuarded(upstream::getData).whenComplete((value, error) -> {
+            if (error == null) {
+                cached = new Cached(value, clock.getAsLong());
+            }
+            // Cache first, then let the next caller start a new call, then wake the waiters
+            inFlight.compareAndSet(result, null);
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    // Runs one upstream call behind the circuit breaker and the timeout
+    private <T> CompletableFuture<T> callGuarded(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!allowCall()) {
+            result.completeExceptionally(new ExternalApiException("Circuit open, upstream not called"));
+            return result;
+        }
+        CompletableFuture.supplyAsync(call, executor)
+            .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+            .whenComplete((value, error) -> {
+                if (error == null) {
+                    recordSuccess();
+                    result.complete(value);
+                } else {
+                    recordFailure();
+                    result.completeExceptionally(translate(error));
+                }
+            });
+        return result;
+    }
+
+    private RuntimeException translate(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return new ExternalApiException("Upstream did not answer within "
+                                            + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms", cause);
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new ExternalApiException("Upstream failed", cause);
+    }
+
+    private synchronized boolean allowCall() {
+        if (state == CircuitState.HALF_OPEN) {
+            // The trial call is still running
+            return false;
+        }
+        if (state == CircuitState.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+        }
+        return true;
+    }
+
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = CircuitState.CLOSED;
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitState.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public static class Builder {
+        private final ExternalApi upstream;
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+        private Duration timeout = Duration.ofSeconds(2);
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder(ExternalApi upstream) {
+            if (upstream == null) {
+                throw new IllegalArgumentException("Upstream api cannot be null");
+            }
+            this.upstream = upstream;
+        }
+
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        // How long after the TTL a stale value may still be served while it is refreshed
+        public Builder staleWhileRevalidate(Duration window) {
+            this.staleWhileRevalidate = window;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        // Consecutive failures (timeouts included) that open the circuit, and for how long
+        public Builder circuitBreaker(int failureThreshold, Duration openDuration) {
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("Failure threshold must be positive");
+            }
+            this.failureThreshold = failureThreshold;
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        // Runs the blocking upstream calls; one virtual thread per call by default
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        // Time source in nanoseconds, for tests
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ResilientExternalApi build() {
+            if (ttl.isNegative() || staleWhileRevalidate.isNegative()
+                    || timeout.isNegative() || timeout.isZero() || openDuration.isNegative()) {
+                throw new IllegalArgumentException("Durations cannot be negative and the timeout must be positive");
+            }
+            return new ResilientExternalApi(this);
+        }
+    }
+}
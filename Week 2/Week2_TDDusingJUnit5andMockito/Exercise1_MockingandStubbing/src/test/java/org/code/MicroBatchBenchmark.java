@@ -0,0 +1,96 @@
+package org.code;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Throughput and latency of single calls vs. micro-batched calls against SimulatedExternalApi
+// Each caller is a virtual thread that fetches one key, waits for it and fetches the next.
+// Run with: mvn test-compile exec:java
+public class MicroBatchBenchmark {
+
+    private static final int CONNECTIONS = 8;
+    private static final long CALL_OVERHEAD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PER_KEY_NANOS = TimeUnit.MICROSECONDS.toNanos(2);
+    private static final long RUN_NANOS = TimeUnit.MILLISECONDS.toNanos(700);
+
+    private static final int[] CALLERS = {4, 32, 256, 1024};
+
+    // {max batch size, max delay in microseconds}; null means no batching
+    private static final int[][] CONFIGS = {null, {16, 100}, {64, 250}, {256, 1000}};
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== MICRO-BATCHING BENCHMARK ===");
+        System.out.printf("Stub: %d connections, %d us per call, %d us per key%n%n", CONNECTIONS,
+                          TimeUnit.NANOSECONDS.toMicros(CALL_OVERHEAD_NANOS), TimeUnit.NANOSECONDS.toMicros(PER_KEY_NANOS));
+        System.out.printf("%-16s %8s %13s %10s %10s %10s %10s%n",
+                          "Mode", "Callers", "Requests/sec", "Keys/call", "p50 us", "p99 us", "max us");
+
+        run(null, 4); // Warm up
+        run(CONFIGS[2], 256);
+
+        for (int[] config : CONFIGS) {
+            for (int callers : CALLERS) {
+                Result result = run(config, callers);
+                System.out.printf("%-16s %8d %,13.0f %10.1f %,10d %,10d %,10d%n",
+                                  config == null ? "single" : "batch " + config[0] + "/" + config[1] + "us",
+                                  callers, result.throughput, result.keysPerCall,
+                                  result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+            }
+            System.out.println();
+        }
+    }
+
+    private static Result run(int[] config, int callers) throws InterruptedException {
+        SimulatedExternalApi api = new SimulatedExternalApi(CONNECTIONS, CALL_OVERHEAD_NANOS, PER_KEY_NANOS);
+        MyService service = config == null
+            ? new MyService(api)
+            : new MyService(api, config[0], Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(config[1])), CONNECTIONS);
+
+        List<long[]> latencies = new ArrayList<>();
+        int[] counts = new int[callers];
+        CountDownLatch done = new CountDownLatch(callers);
+        long end = System.nanoTime() + RUN_NANOS;
+        for (int c = 0; c < callers; c++) {
+            int caller = c;
+            long[] samples = new long[1 << 16];
+            latencies.add(samples);
+            Thread.ofVirtual().start(() -> {
+                int n = 0;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    service.fetchData("k" + caller + "-" + n);
+                    if (n < samples.length) {
+                        samples[n] = System.nanoTime() - now;
+                    }
+                    n++;
+                }
+                counts[caller] = Math.min(n, samples.length);
+                done.countDown();
+            });
+        }
+        done.await();
+        service.close();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < callers; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        double seconds = RUN_NANOS / 1e9;
+        return new Result(api.getKeyCount() / seconds, (double) api.getKeyCount() / api.getCallCount(), all);
+    }
+
+    private record Result(double throughput, double keysPerCall, long[] sortedNanos) {
+        long percentile(double p) {
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return TimeUnit.NANOSECONDS.toMicros(sortedNanos[Math.max(0, index)]);
+        }
+    }
+}
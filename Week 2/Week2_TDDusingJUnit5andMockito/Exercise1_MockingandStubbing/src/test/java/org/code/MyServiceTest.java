@@ -1,12 +1,42 @@
 package org.code;
 
+import org.code.perf.PerfTest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MyServiceTest {
+    private final MyService cachedService = new MyService(ResilientExternalApi.builder(() -> "Cached Data")
+        .ttl(Duration.ofMinutes(10))
+        .build());
+    private final MyService batchedService = new MyService(new SimulatedExternalApi(4, 0, 0), 32,
+                                                           Duration.ofNanos(50_000), 4);
+
+    @AfterEach
+    void closeServices() {
+        batchedService.close();
+    }
+
     @Test
     public void testExternalApi() {
         ExternalApi mockApi = Mockito.mock(ExternalApi.class);
@@ -15,4 +45,185 @@ public class MyServiceTest {
         String result = service.fetchData();
         assertEquals("Mock Data", result);
     }
+
+    @Test
+    public void testFetchDataAsyncDoesNotBlockCaller() throws Exception {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return "Mock Data";
+        });
+        MyService service = new MyService(mockApi);
+
+        CompletableFuture<String> result = service.fetchDataAsync();
+        assertFalse(result.isDone());
+        assertEquals("Mock Data", result.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFetchDataAsyncThroughResilientApi() throws Exception {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData()).thenReturn("Mock Data");
+        MyService service = new MyService(ResilientExternalApi.builder(mockApi)
+            .ttl(Duration.ofMinutes(1))
+            .build());
+
+        assertEquals("Mock Data", service.fetchDataAsync().get(1, TimeUnit.SECONDS));
+        assertEquals("Mock Data", service.fetchData());
+        assertEquals("Mock Data", service.fetchDataAsync().get(1, TimeUnit.SECONDS));
+        verify(mockApi, times(1)).getData();
+    }
+
+    @Test
+    public void testKeyedFetchesAreSentAsOneBatch() throws Exception {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getDataBatch(anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            return keys.stream().map(key -> "value-" + key).toList();
+        });
+
+        try (MyService service = new MyService(mockApi, 4, Duration.ofSeconds(10), 1)) {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(service.fetchDataAsync("k" + i));
+            }
+            // A full batch goes out at once instead of waiting for the delay
+            for (int i = 0; i < 4; i++) {
+                assertEquals("value-k" + i, results.get(i).get(1, TimeUnit.SECONDS));
+            }
+        }
+        verify(mockApi, times(1)).getDataBatch(List.of("k0", "k1", "k2", "k3"));
+        verify(mockApi, never()).getData(Mockito.anyString());
+    }
+
+    @Test
+    public void testPartialBatchIsSentAfterDelay() {
+        SimulatedExternalApi api = new SimulatedExternalApi(1, 0, 0);
+        try (MyService service = new MyService(api, 100, Duration.ofMillis(50), 1)) {
+            long start = System.nanoTime();
+            CompletableFuture<String> first = service.fetchDataAsync("a");
+            CompletableFuture<String> second = service.fetchDataAsync("b");
+            assertEquals("value-a", first.join());
+            assertEquals("value-b", second.join());
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsed >= 40 && elapsed < 1000, "Expected the batch after about 50 ms, took " + elapsed);
+        }
+        assertEquals(1, api.getCallCount());
+        assertEquals(2, api.getKeyCount());
+    }
+
+    @Test
+    public void testBatchFailureFailsEveryRequestInIt() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getDataBatch(anyList())).thenThrow(new IllegalStateException("Upstream down"));
+
+        try (MyService service = new MyService(mockApi, 2, Duration.ofSeconds(10), 1)) {
+            CompletableFuture<String> first = service.fetchDataAsync("a");
+            CompletableFuture<String> second = service.fetchDataAsync("b");
+            CompletionException error = assertThrows(CompletionException.class, first::join);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            assertThrows(CompletionException.class, second::join);
+        }
+    }
+
+    @Test
+    public void testWrongNumberOfBatchValuesIsAnError() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getDataBatch(anyList())).thenReturn(List.of("only one"));
+
+        try (MyService service = new MyService(mockApi, 2, Duration.ofSeconds(10), 1)) {
+            CompletableFuture<String> first = service.fetchDataAsync("a");
+            CompletableFuture<String> second = service.fetchDataAsync("b");
+            assertThrows(CompletionException.class, first::join);
+            assertThrows(CompletionException.class, second::join);
+        }
+    }
+
+    @Test
+    public void testCloseSendsPendingKeys() {
+        SimulatedExternalApi api = new SimulatedExternalApi(1, 0, 0);
+        MyService service = new MyService(api, 100, Duration.ofSeconds(10), 1);
+        CompletableFuture<String> pending = service.fetchDataAsync("a");
+        service.close();
+
+        assertEquals("value-a", pending.join());
+        assertThrows(IllegalStateException.class, () -> service.fetchDataAsync("b"));
+    }
+
+    @Test
+    public void testManyConcurrentCallersShareFewBatches() throws Exception {
+        SimulatedExternalApi api = new SimulatedExternalApi(2, TimeUnit.MILLISECONDS.toNanos(5), 0);
+        try (MyService service = new MyService(api, 64, Duration.ofMillis(1), 2)) {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                String key = "k" + i;
+                results.add(CompletableFuture.supplyAsync(() -> service.fetchData(key)));
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals("value-k" + i, results.get(i).get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(500, api.getKeyCount());
+        assertTrue(api.getCallCount() < 100, "Expected batching, got " + api.getCallCount() + " calls");
+    }
+
+    @Test
+    public void testErrorInBatchCallFailsEveryRequestInIt() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getDataBatch(anyList())).thenThrow(new AssertionError("Broken upstream"));
+
+        try (MyService service = new MyService(mockApi, 2, Duration.ofSeconds(10), 1)) {
+            CompletableFuture<String> first = service.fetchDataAsync("a");
+            CompletableFuture<String> second = service.fetchDataAsync("b");
+            CompletionException error = assertThrows(CompletionException.class, first::join);
+            assertInstanceOf(AssertionError.class, error.getCause());
+            assertThrows(CompletionException.class, second::join);
+        }
+    }
+
+    @Test
+    public void testSubmitBlocksWhenTooManyRequestsArePending() throws Exception {
+        CountDownLatch upstream = new CountDownLatch(1);
+        Function<List<String>, List<String>> slowBatch = keys -> {
+            try {
+                upstream.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return keys;
+        };
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(slowBatch, 1, Duration.ZERO, 1, 2)) {
+            CompletableFuture<String> first = batcher.submit("a");
+            CompletableFuture<String> second = batcher.submit("b");
+            CompletableFuture<CompletableFuture<String>> third = CompletableFuture.supplyAsync(() -> batcher.submit("c"));
+
+            Thread.sleep(100);
+            assertFalse(third.isDone(), "Third request should wait for a free slot");
+            upstream.countDown();
+            assertEquals("a", first.get(1, TimeUnit.SECONDS));
+            assertEquals("b", second.get(1, TimeUnit.SECONDS));
+            assertEquals("c", third.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testKeyedFetchWithoutBatching() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData("k1")).thenReturn("Mock Data");
+        MyService service = new MyService(mockApi);
+        assertEquals("Mock Data", service.fetchData("k1"));
+        verify(mockApi, never()).getDataBatch(anyList());
+    }
+
+    @PerfTest(warmup = 5_000, iterations = 50_000, maxP99Micros = 50)
+    public void perfCachedFetch() {
+        assertEquals("Cached Data", cachedService.fetchData());
+    }
+
+    // A lone caller waits out the batching delay (50 us) on every call; thread hand-offs make
+    // the tail noisy, so allow more slack against the baseline
+    @PerfTest(warmup = 500, iterations = 2_000, maxP99Micros = 10_000, maxRegression = 2.0, noiseFloorMicros = 500)
+    public void perfBatchedFetch() {
+        assertEquals("value-k", batchedService.fetchData("k"));
+    }
 }
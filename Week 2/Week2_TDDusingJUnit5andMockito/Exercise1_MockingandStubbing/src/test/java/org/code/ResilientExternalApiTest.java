@@ -0,0 +1,246 @@
+package org.code;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResilientExternalApiTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static ExternalApi slowApi(long delayMillis, String... values) {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        AtomicInteger call = new AtomicInteger();
+        when(mockApi.getData()).thenAnswer(invocation -> {
+            Thread.sleep(delayMillis);
+            return values[Math.min(call.getAndIncrement(), values.length - 1)];
+        });
+        return mockApi;
+    }
+
+    private ResilientExternalApi.Builder builder(ExternalApi upstream) {
+        return ResilientExternalApi.builder(upstream).clock(now::get);
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneUpstreamCall() throws Exception {
+        ExternalApi mockApi = slowApi(200, "Mock Data");
+        ResilientExternalApi api = builder(mockApi).build();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(CompletableFuture.supplyAsync(api::getData));
+        }
+        for (CompletableFuture<String> result : results) {
+            assertEquals("Mock Data", result.get(2, TimeUnit.SECONDS));
+        }
+        verify(mockApi, times(1)).getData();
+    }
+
+    @Test
+    public void testFreshValueIsServedFromCache() {
+        ExternalApi mockApi = slowApi(100, "Mock Data");
+        ResilientExternalApi api = builder(mockApi).ttl(Duration.ofSeconds(30)).build();
+        assertEquals("Mock Data", api.getData());
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        long start = System.nanoTime();
+        assertEquals("Mock Data", api.getData());
+        assertTrue(millisSince(start) < 50, "Cache hit should not wait for upstream");
+        verify(mockApi, times(1)).getData();
+    }
+
+    @Test
+    public void testStaleValueIsServedWhileRefreshing() {
+        ExternalApi mockApi = slowApi(300, "v1", "v2");
+        ResilientExternalApi api = builder(mockApi)
+            .ttl(Duration.ofSeconds(30))
+            .staleWhileRevalidate(Duration.ofSeconds(60))
+            .build();
+        assertEquals("v1", api.getData());
+
+        now.addAndGet(Duration.ofSeconds(45).toNanos());
+        long start = System.nanoTime();
+        assertEquals("v1", api.getData());
+        assertEquals("v1", api.getData());
+        assertTrue(millisSince(start) < 100, "Stale value should be returned without waiting");
+
+        // One background refresh for both stale reads, then the new value is served
+        verify(mockApi, timeout(2000).times(2)).getData();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!"v2".equals(api.getData()) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals("v2", api.getData());
+        verify(mockApi, times(2)).getData();
+    }
+
+    @Test
+    public void testExpiredValueWaitsForUpstream() {
+        ExternalApi mockApi = slowApi(50, "v1", "v2");
+        ResilientExternalApi api = builder(mockApi)
+            .ttl(Duration.ofSeconds(30))
+            .staleWhileRevalidate(Duration.ofSeconds(10))
+            .build();
+        assertEquals("v1", api.getData());
+
+        now.addAndGet(Duration.ofSeconds(41).toNanos());
+        assertEquals("v2", api.getData());
+        verify(mockApi, times(2)).getData();
+    }
+
+    @Test
+    public void testSlowUpstreamTimesOut() {
+        ExternalApi mockApi = slowApi(2000, "Too Late");
+        ResilientExternalApi api = builder(mockApi).timeout(Duration.ofMillis(100)).build();
+
+        long start = System.nanoTime();
+        ExternalApiException error = assertThrows(ExternalApiException.class, api::getData);
+        long elapsed = millisSince(start);
+        assertTrue(elapsed >= 100 && elapsed < 1000, "Expected to give up after about 100 ms, took " + elapsed);
+        assertTrue(error.getMessage().contains("100 ms"));
+    }
+
+    @Test
+    public void testCircuitOpensAfterConsecutiveFailures() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData()).thenThrow(new IllegalStateException("Upstream down"));
+        ResilientExternalApi api = builder(mockApi)
+            .circuitBreaker(3, Duration.ofSeconds(10))
+            .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, api::getData);
+        }
+        assertEquals(ResilientExternalApi.CircuitState.OPEN, api.getCircuitState());
+
+        // Fails fast without touching upstream
+        long start = System.nanoTime();
+        ExternalApiException error = assertThrows(ExternalApiException.class, api::getData);
+        assertTrue(millisSince(start) < 50);
+        assertTrue(error.getMessage().contains("Circuit open"));
+        verify(mockApi, times(3)).getData();
+    }
+
+    @Test
+    public void testHalfOpenTrialCallClosesCircuit() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData())
+            .thenThrow(new IllegalStateException("Upstream down"))
+            .thenThrow(new IllegalStateException("Upstream down"))
+            .thenReturn("Recovered");
+        ResilientExternalApi api = builder(mockApi)
+            .ttl(Duration.ZERO)
+            .staleWhileRevalidate(Duration.ZERO)
+            .circuitBreaker(2, Duration.ofSeconds(10))
+            .build();
+
+        assertThrows(IllegalStateException.class, api::getData);
+        assertThrows(IllegalStateException.class, api::getData);
+        assertThrows(ExternalApiException.class, api::getData);
+        verify(mockApi, times(2)).getData();
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals("Recovered", api.getData());
+        assertEquals(ResilientExternalApi.CircuitState.CLOSED, api.getCircuitState());
+        verify(mockApi, times(3)).getData();
+    }
+
+    @Test
+    public void testFailedHalfOpenTrialReopensCircuit() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData()).thenThrow(new IllegalStateException("Upstream down"));
+        ResilientExternalApi api = builder(mockApi)
+            .circuitBreaker(1, Duration.ofSeconds(10))
+            .build();
+
+        assertThrows(IllegalStateException.class, api::getData);
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThrows(IllegalStateException.class, api::getData);
+        assertEquals(ResilientExternalApi.CircuitState.OPEN, api.getCircuitState());
+        assertThrows(ExternalApiException.class, api::getData);
+        verify(mockApi, times(2)).getData();
+    }
+
+    @Test
+    public void testCacheHitDoesNotCallUpstreamAsync() throws Exception {
+        ExternalApi mockApi = slowApi(100, "Mock Data");
+        ResilientExternalApi api = builder(mockApi).build();
+        assertEquals("Mock Data", api.getDataAsync().get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<String> hit = api.getDataAsync();
+        assertTrue(hit.isDone());
+        assertEquals("Mock Data", hit.get());
+        verify(mockApi, times(1)).getData();
+    }
+
+    @Test
+    public void testKeyedCallsReachUpstreamWithTheirKeys() throws Exception {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData()).thenReturn("unkeyed");
+        when(mockApi.getData(Mockito.anyString())).thenAnswer(invocation -> "value-" + invocation.getArgument(0));
+        when(mockApi.getDataBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            return keys.stream().map(key -> "value-" + key).toList();
+        });
+        ResilientExternalApi api = builder(mockApi).build();
+
+        assertEquals("value-a", api.getData("a"));
+        assertEquals(List.of("value-x", "value-y"), api.getDataBatch(List.of("x", "y")));
+        try (MyService service = new MyService(api, 8, Duration.ofMillis(1), 1)) {
+            assertEquals("value-k1", service.fetchData("k1"));
+        }
+        assertEquals("value-k2", new MyService(api).fetchDataAsync("k2").get(1, TimeUnit.SECONDS));
+        verify(mockApi, never()).getData();
+    }
+
+    @Test
+    public void testKeyedCallsShareTheCircuitBreaker() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData(Mockito.anyString())).thenThrow(new IllegalStateException("Upstream down"));
+        ResilientExternalApi api = builder(mockApi)
+            .circuitBreaker(2, Duration.ofSeconds(10))
+            .build();
+
+        assertThrows(IllegalStateException.class, () -> api.getData("a"));
+        assertThrows(IllegalStateException.class, () -> api.getData("b"));
+        assertEquals(ResilientExternalApi.CircuitState.OPEN, api.getCircuitState());
+        assertThrows(ExternalApiException.class, () -> api.getDataBatch(List.of("c")));
+        assertThrows(ExternalApiException.class, api::getData);
+        verify(mockApi, never()).getDataBatch(Mockito.anyList());
+        verify(mockApi, never()).getData();
+    }
+
+    @Test
+    public void testSlowKeyedCallTimesOut() {
+        ExternalApi mockApi = Mockito.mock(ExternalApi.class);
+        when(mockApi.getData("a")).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return "Too Late";
+        });
+        ResilientExternalApi api = builder(mockApi).timeout(Duration.ofMillis(100)).build();
+
+        ExternalApiException error = assertThrows(ExternalApiException.class, () -> api.getData("a"));
+        assertTrue(error.getMessage().contains("100 ms"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Local stand-in for a remote API: every call holds one of a few connections for a fixed
+// round-trip overhead plus a small cost per key, so batching pays off the way it would
+// against a real server
+public class SimulatedExternalApi implements ExternalApi {
+
+    private final Semaphore connections;
+    private final long callOverheadNanos;
+    private final long perKeyNanos;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+
+    public SimulatedExternalApi(int connections, long callOverheadNanos, long perKeyNanos) {
+        this.connections = new Semaphore(connections);
+        this.callOverheadNanos = callOverheadNanos;
+        this.perKeyNanos = perKeyNanos;
+    }
+
+    @Override
+    public String getData() {
+        return getData("default");
+    }
+
+    @Override
+    public String getData(String key) {
+        roundTrip(1);
+        return "value-" + key;
+    }
+
+    @Override
+    public List<String> getDataBatch(List<String> batchKeys) {
+        roundTrip(batchKeys.size());
+        List<String> values = new ArrayList<>(batchKeys.size());
+        for (String key : batchKeys) {
+            values.add("value-" + key);
+        }
+        return values;
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getKeyCount() {
+        return keys.sum();
+    }
+
+    private void roundTrip(int keyCount) {
+        connections.acquireUninterruptibly();
+        try {
+            calls.increment();
+            keys.add(keyCount);
+            long end = System.nanoTime() + callOverheadNanos + keyCount * perKeyNanos;
+            long remaining;
+            while ((remaining = end - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        } finally {
+            connections.release();
+        }
+    }
+}
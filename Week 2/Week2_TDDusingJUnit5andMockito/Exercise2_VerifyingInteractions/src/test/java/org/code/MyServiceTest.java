@@ -1,10 +1,22 @@
 package org.code;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+
+import org.code.perf.PerfTest;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 public class MyServiceTest {
+    private final MyService stubbedService = new MyService(stubbedApi());
+
+    // Stub-only mocks do not record invocations, so repeated calls do not pile up in memory
+    private static ExternalApi stubbedApi() {
+        ExternalApi stubApi = Mockito.mock(ExternalApi.class, withSettings().stubOnly());
+        when(stubApi.getData()).thenReturn("Mock Data");
+        return stubApi;
+    }
+
     @Test
     public void testVerifyInteraction() {
         ExternalApi mockApi = Mockito.mock(ExternalApi.class);
@@ -12,4 +24,9 @@ public class MyServiceTest {
         service.fetchData();
         verify(mockApi).getData();
     }
+
+    @PerfTest(warmup = 2_000, iterations = 20_000, maxP99Micros = 200)
+    public void perfFetchThroughStub() {
+        assertEquals("Mock Data", stubbedService.fetchData());
+    }
 }
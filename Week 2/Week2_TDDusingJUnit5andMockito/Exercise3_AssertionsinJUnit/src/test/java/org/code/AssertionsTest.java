@@ -1,11 +1,17 @@
 package org.code;
 
 
+import org.code.perf.PerfTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AssertionsTest {
+    private final int[] expected = IntStream.range(0, 1_000).toArray();
+    private final int[] actual = IntStream.range(0, 1_000).toArray();
+
     @Test
     public void testAssertions() {
     // Assert equals
@@ -19,4 +25,10 @@ public class AssertionsTest {
     // Assert not null
         assertNotNull(new Object());
     }
+
+    @PerfTest(warmup = 1_000, iterations = 10_000, maxP99Micros = 200)
+    public void perfAssertArrayEquals() {
+    // Assertions on large arrays should stay cheap
+        assertArrayEquals(expected, actual);
+    }
 }
@@ -0,0 +1,186 @@
+package org.code;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Bulk Calculator operations against a loop that calls the scalar methods element by element
+// The scalar_* benchmarks are the baseline: the wrapping loop over add(int, int), a checked
+// loop with Math.addExact/multiplyExact, and divide(int, int) with a try/catch per element.
+// About 1 in 64 divisors is zero. Times are per array, in nanoseconds.
+//
+//   mvn -Pjmh test-compile exec:exec
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="-p size=65536 .*Add.*"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CalculatorBenchmark {
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private final Calculator calculator = new Calculator();
+    private int[] a;
+    private int[] b;
+    private int[] divisors;
+    private int[] out;
+    private boolean[] zeroMask;
+    private long[] longA;
+    private long[] longB;
+    private long[] longOut;
+    private double[] doubleA;
+    private double[] doubleB;
+    private double[] doubleOut;
+
+    @Setup
+    public void fill() {
+        Random random = new Random(42);
+        a = new int[size];
+        b = new int[size];
+        divisors = new int[size];
+        out = new int[size];
+        zeroMask = new boolean[size];
+        longA = new long[size];
+        longB = new long[size];
+        longOut = new long[size];
+        doubleA = new double[size];
+        doubleB = new double[size];
+        doubleOut = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Small enough that the checked loops never overflow or throw
+            a[i] = random.nextInt(1 << 14);
+            b[i] = random.nextInt(1 << 14) - (1 << 13);
+            divisors[i] = random.nextInt(64) == 0 ? 0 : b[i] | 1;
+            longA[i] = a[i];
+            longB[i] = b[i];
+            doubleA[i] = a[i];
+            doubleB[i] = b[i];
+        }
+    }
+
+    @Benchmark
+    public int[] scalarAdd() {
+        for (int i = 0; i < size; i++) {
+            out[i] = calculator.add(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] bulkAdd() {
+        calculator.add(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    public int[] scalarAddChecked() {
+        for (int i = 0; i < size; i++) {
+            out[i] = Math.addExact(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] bulkAddSaturate() {
+        calculator.add(a, b, out, Calculator.Overflow.SATURATE);
+        return out;
+    }
+
+    @Benchmark
+    public int[] bulkAddFail() {
+        calculator.add(a, b, out, Calculator.Overflow.FAIL);
+        return out;
+    }
+
+    @Benchmark
+    public int[] scalarMultiplyChecked() {
+        for (int i = 0; i < size; i++) {
+            out[i] = Math.multiplyExact(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] bulkMultiplySaturate() {
+        calculator.multiply(a, b, out, Calculator.Overflow.SATURATE);
+        return out;
+    }
+
+    @Benchmark
+    public void scalarDivide(Blackhole bh) {
+        int zeros = 0;
+        for (int i = 0; i < size; i++) {
+            try {
+                out[i] = calculator.divide(a[i], divisors[i]);
+            } catch (IllegalArgumentException e) {
+                out[i] = 0;
+                zeros++;
+            }
+        }
+        bh.consume(zeros);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void bulkDivide(Blackhole bh) {
+        bh.consume(calculator.divide(a, divisors, out, zeroMask));
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public long[] scalarLongAddChecked() {
+        for (int i = 0; i < size; i++) {
+            longOut[i] = Math.addExact(longA[i], longB[i]);
+        }
+        return longOut;
+    }
+
+    @Benchmark
+    public long[] bulkLongAddSaturate() {
+        calculator.add(longA, longB, longOut, Calculator.Overflow.SATURATE);
+        return longOut;
+    }
+
+    @Benchmark
+    public double[] scalarDoubleMultiply() {
+        for (int i = 0; i < size; i++) {
+            doubleOut[i] = doubleA[i] * doubleB[i];
+        }
+        return doubleOut;
+    }
+
+    @Benchmark
+    public double[] bulkDoubleMultiply() {
+        calculator.multiply(doubleA, doubleB, doubleOut);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public long scalarSum() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total = Math.addExact(total, a[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long bulkSum() {
+        return calculator.sum(a);
+    }
+}
@@ -1,6 +1,16 @@
 package org.code;
 
+// Scalar operations plus bulk versions for whole arrays
+// The element-wise loops are branch-free and use only operations the JIT can vectorize
+// (SuperWord), so they run several lanes per instruction on int, long and double arrays.
+// Overflow is handled per call: WRAP keeps Java's two's-complement result, SATURATE clamps
+// to the type's MIN/MAX, and FAIL throws an ArithmeticException once after the loop if any
+// element overflowed (out then holds the saturated values). Division by zero never throws
+// in bulk; those elements are set to 0 and flagged in a mask instead.
 public class Calculator {
+
+    public enum Overflow { WRAP, SATURATE, FAIL }
+
     public int add(int a, int b) {
         return a + b;
     }
@@ -17,4 +27,318 @@ public class Calculator {
         if (b == 0) throw new IllegalArgumentException("Division by zero");
         return a / b;
     }
+
+    // ---- int arrays: out[i] = a[i] op b[i] ----
+
+    public void add(int[] a, int[] b, int[] out) {
+        add(a, b, out, Overflow.WRAP);
+    }
+
+    public void add(int[] a, int[] b, int[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] + b[i];
+            }
+            return;
+        }
+        int overflow = 0;
+        for (int i = 0; i < n; i++) {
+            int x = a[i];
+            int r = x + b[i];
+            // Negative when both operands have the same sign and the result does not
+            int o = (x ^ r) & (b[i] ^ r);
+            overflow |= o;
+            out[i] = saturate(r, x, o >> 31);
+        }
+        finish(mode, overflow < 0, "int", n, "add");
+    }
+
+    public void subtract(int[] a, int[] b, int[] out) {
+        subtract(a, b, out, Overflow.WRAP);
+    }
+
+    public void subtract(int[] a, int[] b, int[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] - b[i];
+            }
+            return;
+        }
+        int overflow = 0;
+        for (int i = 0; i < n; i++) {
+            int x = a[i];
+            int r = x - b[i];
+            // Negative when the operands have different signs and the result's sign differs from a
+            int o = (x ^ b[i]) & (x ^ r);
+            overflow |= o;
+            out[i] = saturate(r, x, o >> 31);
+        }
+        finish(mode, overflow < 0, "int", n, "subtract");
+    }
+
+    public void multiply(int[] a, int[] b, int[] out) {
+        multiply(a, b, out, Overflow.WRAP);
+    }
+
+    public void multiply(int[] a, int[] b, int[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] * b[i];
+            }
+            return;
+        }
+        long overflow = 0;
+        for (int i = 0; i < n; i++) {
+            long p = (long) a[i] * b[i];
+            int clamped = Math.clamp(p, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            overflow |= p ^ clamped;
+            out[i] = clamped;
+        }
+        finish(mode, overflow != 0, "int", n, "multiply");
+    }
+
+    // Elements whose divisor is 0 get 0 in out and true in zeroDivisors; returns how many there were
+    // MIN_VALUE / -1 wraps to MIN_VALUE as with the / operator
+    public int divide(int[] a, int[] b, int[] out, boolean[] zeroDivisors) {
+        int n = checkLengths(a.length, b.length, out.length);
+        checkMask(zeroDivisors.length, n);
+        int zeros = 0;
+        for (int i = 0; i < n; i++) {
+            int d = b[i];
+            boolean zero = d == 0;
+            out[i] = zero ? 0 : a[i] / d;
+            zeroDivisors[i] = zero;
+            zeros += zero ? 1 : 0;
+        }
+        return zeros;
+    }
+
+    // ---- long arrays ----
+
+    public void add(long[] a, long[] b, long[] out) {
+        add(a, b, out, Overflow.WRAP);
+    }
+
+    public void add(long[] a, long[] b, long[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] + b[i];
+            }
+            return;
+        }
+        long overflow = 0;
+        for (int i = 0; i < n; i++) {
+            long x = a[i];
+            long r = x + b[i];
+            long o = (x ^ r) & (b[i] ^ r);
+            overflow |= o;
+            out[i] = saturate(r, x, o >> 63);
+        }
+        finish(mode, overflow < 0, "long", n, "add");
+    }
+
+    public void subtract(long[] a, long[] b, long[] out) {
+        subtract(a, b, out, Overflow.WRAP);
+    }
+
+    public void subtract(long[] a, long[] b, long[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] - b[i];
+            }
+            return;
+        }
+        long overflow = 0;
+        for (int i = 0; i < n; i++) {
+            long x = a[i];
+            long r = x - b[i];
+            long o = (x ^ b[i]) & (x ^ r);
+            overflow |= o;
+            out[i] = saturate(r, x, o >> 63);
+        }
+        finish(mode, overflow < 0, "long", n, "subtract");
+    }
+
+    public void multiply(long[] a, long[] b, long[] out) {
+        multiply(a, b, out, Overflow.WRAP);
+    }
+
+    public void multiply(long[] a, long[] b, long[] out, Overflow mode) {
+        int n = checkLengths(a.length, b.length, out.length);
+        if (mode == Overflow.WRAP) {
+            for (int i = 0; i < n; i++) {
+                out[i] = a[i] * b[i];
+            }
+            return;
+        }
+        long overflow = 0;
+        for (int i = 0; i < n; i++) {
+            long x = a[i];
+            long y = b[i];
+            long lo = x * y;
+            // The 128-bit product fits in a long when its high half is just the sign of the low half
+            long o = Math.multiplyHigh(x, y) ^ (lo >> 63);
+            overflow |= o;
+            long limit = ((x ^ y) >> 63) ^ Long.MAX_VALUE;
+            out[i] = o != 0 ? limit : lo;
+        }
+        finish(mode, overflow != 0, "long", n, "multiply");
+    }
+
+    public int divide(long[] a, long[] b, long[] out, boolean[] zeroDivisors) {
+        int n = checkLengths(a.length, b.length, out.length);
+        checkMask(zeroDivisors.length, n);
+        int zeros = 0;
+        for (int i = 0; i < n; i++) {
+            long d = b[i];
+            boolean zero = d == 0;
+            out[i] = zero ? 0 : a[i] / d;
+            zeroDivisors[i] = zero;
+            zeros += zero ? 1 : 0;
+        }
+        return zeros;
+    }
+
+    // ---- double arrays: IEEE 754 rules, x / 0.0 is an infinity or NaN ----
+
+    public void add(double[] a, double[] b, double[] out) {
+        int n = checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    public void subtract(double[] a, double[] b, double[] out) {
+        int n = checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    public void multiply(double[] a, double[] b, double[] out) {
+        int n = checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    public void divide(double[] a, double[] b, double[] out) {
+        int n = checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] / b[i];
+        }
+    }
+
+    // ---- Reductions ----
+
+    // Summed as long, so no int array can overflow it
+    public long sum(int[] values) {
+        long total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    public long sum(long[] values, Overflow mode) {
+        if (mode == Overflow.WRAP) {
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            return total;
+        }
+        long total = 0;
+        for (long value : values) {
+            long r = total + value;
+            if (((total ^ r) & (value ^ r)) < 0) {
+                if (mode == Overflow.FAIL) {
+                    throw new ArithmeticException("long overflow in sum");
+                }
+                r = value < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+            total = r;
+        }
+        return total;
+    }
+
+    // Added in array order, so the result matches a plain loop exactly
+    public double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    public long product(int[] values, Overflow mode) {
+        long product = 1;
+        for (int value : values) {
+            product = multiply(product, value, mode);
+        }
+        return product;
+    }
+
+    public long product(long[] values, Overflow mode) {
+        long product = 1;
+        for (long value : values) {
+            product = multiply(product, value, mode);
+        }
+        return product;
+    }
+
+    public double product(double[] values) {
+        double product = 1;
+        for (double value : values) {
+            product *= value;
+        }
+        return product;
+    }
+
+    private static long multiply(long x, long y, Overflow mode) {
+        long lo = x * y;
+        if (mode == Overflow.WRAP || Math.multiplyHigh(x, y) == (lo >> 63)) {
+            return lo;
+        }
+        if (mode == Overflow.FAIL) {
+            throw new ArithmeticException("long overflow in product");
+        }
+        return (x ^ y) < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    // r where mask is 0, otherwise the limit in the direction of x (both operands share its sign)
+    private static int saturate(int r, int x, int mask) {
+        int limit = (x >> 31) ^ Integer.MAX_VALUE;
+        return (r & ~mask) | (limit & mask);
+    }
+
+    private static long saturate(long r, long x, long mask) {
+        long limit = (x >> 63) ^ Long.MAX_VALUE;
+        return (r & ~mask) | (limit & mask);
+    }
+
+    private static void finish(Overflow mode, boolean overflowed, String type, int n, String operation) {
+        if (overflowed && mode == Overflow.FAIL) {
+            throw new ArithmeticException(type + " overflow in bulk " + operation + " of " + n + " elements");
+        }
+    }
+
+    private static int checkLengths(int a, int b, int out) {
+        if (a != b || out < a) {
+            throw new IllegalArgumentException("Operands must have the same length and out at least that length: "
+                                               + a + ", " + b + ", " + out);
+        }
+        return a;
+    }
+
+    private static void checkMask(int mask, int n) {
+        if (mask < n) {
+            throw new IllegalArgumentException("Zero-divisor mask is shorter than the operands: " + mask + " < " + n);
+        }
+    }
 }
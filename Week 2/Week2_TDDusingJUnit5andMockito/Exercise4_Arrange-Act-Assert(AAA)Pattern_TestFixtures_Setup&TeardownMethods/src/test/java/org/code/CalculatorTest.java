@@ -1,13 +1,20 @@
 package org.code;
 
+import org.code.perf.PerfTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CalculatorTest {
     private Calculator calculator;
+    private final int[] ledgerA = new int[4096];
+    private final int[] ledgerB = new int[4096];
+    private final int[] ledgerOut = new int[4096];
+    private final boolean[] zeroDivisors = new boolean[4096];
 
     @BeforeEach
     void setUp(){
@@ -51,4 +58,156 @@ public class CalculatorTest {
         int result = calculator.divide(a,b);
         assertEquals(5,result,"Division should return the quotient of two numbers");
     }
+
+    @Test
+    void testBulkAddition(){
+        int[] a = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        int[] b = {9, 8, 7, 6, 5, 4, 3, 2, 1};
+        int[] out = new int[a.length];
+        calculator.add(a, b, out);
+        assertArrayEquals(new int[] {10, 10, 10, 10, 10, 10, 10, 10, 10}, out, "Bulk addition should add element by element");
+    }
+
+    @Test
+    void testBulkOverflowWrapsByDefault(){
+        int[] a = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        int[] b = {1, -1};
+        int[] out = new int[2];
+        calculator.add(a, b, out);
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}, out, "Default mode should wrap like the + operator");
+    }
+
+    @Test
+    void testBulkOverflowSaturates(){
+        int[] a = {Integer.MAX_VALUE, Integer.MIN_VALUE, 5, Integer.MIN_VALUE};
+        int[] b = {1, -1, 3, 1};
+        int[] out = new int[4];
+
+        calculator.add(a, b, out, Calculator.Overflow.SATURATE);
+        assertArrayEquals(new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, 8, Integer.MIN_VALUE + 1}, out);
+
+        calculator.subtract(a, b, out, Calculator.Overflow.SATURATE);
+        assertArrayEquals(new int[] {Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1, 2, Integer.MIN_VALUE}, out);
+
+        calculator.multiply(new int[] {65536, -65536, 7}, new int[] {65536, 65536, -6}, out, Calculator.Overflow.SATURATE);
+        assertArrayEquals(new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, -42}, new int[] {out[0], out[1], out[2]});
+    }
+
+    @Test
+    void testLongBulkOverflowSaturates(){
+        long[] a = {Long.MAX_VALUE, Long.MIN_VALUE, 3_000_000_000L, Long.MIN_VALUE};
+        long[] b = {2, 2, 3_000_000_000L, -1};
+        long[] out = new long[4];
+
+        calculator.multiply(a, b, out, Calculator.Overflow.SATURATE);
+        assertArrayEquals(new long[] {Long.MAX_VALUE, Long.MIN_VALUE, 9_000_000_000_000_000_000L, Long.MAX_VALUE}, out);
+
+        calculator.add(a, b, out, Calculator.Overflow.SATURATE);
+        assertArrayEquals(new long[] {Long.MAX_VALUE, Long.MIN_VALUE + 2, 6_000_000_000L, Long.MIN_VALUE}, out);
+    }
+
+    @Test
+    void testBulkOverflowFails(){
+        int[] a = {1, Integer.MAX_VALUE, 3};
+        int[] b = {1, 1, 1};
+        int[] out = new int[3];
+        ArithmeticException exception = assertThrows(ArithmeticException.class,
+            () -> calculator.add(a, b, out, Calculator.Overflow.FAIL));
+        assertEquals("int overflow in bulk add of 3 elements", exception.getMessage());
+
+        assertThrows(ArithmeticException.class,
+            () -> calculator.multiply(new long[] {Long.MAX_VALUE / 2}, new long[] {3}, new long[1], Calculator.Overflow.FAIL));
+
+        // No overflow, no exception
+        calculator.add(new int[] {1, 2}, new int[] {3, 4}, out, Calculator.Overflow.FAIL);
+        assertEquals(4, out[0]);
+        assertEquals(6, out[1]);
+    }
+
+    @Test
+    void testBulkDivisionMasksZeroDivisors(){
+        int[] a = {60, 7, -9, 100};
+        int[] b = {12, 0, 3, 0};
+        int[] out = new int[4];
+        boolean[] zeroDivisors = new boolean[4];
+        int zeros = calculator.divide(a, b, out, zeroDivisors);
+        assertEquals(2, zeros, "Both zero divisors should be counted");
+        assertArrayEquals(new int[] {5, 0, -3, 0}, out);
+        assertArrayEquals(new boolean[] {false, true, false, true}, zeroDivisors);
+
+        long[] longOut = new long[2];
+        assertEquals(1, calculator.divide(new long[] {10, 10}, new long[] {0, 5}, longOut, zeroDivisors));
+        assertArrayEquals(new long[] {0, 2}, longOut);
+    }
+
+    @Test
+    void testDoubleBulkOperations(){
+        double[] a = {1.5, 2.0, -3.0};
+        double[] b = {0.5, 0.0, 2.0};
+        double[] out = new double[3];
+        calculator.add(a, b, out);
+        assertArrayEquals(new double[] {2.0, 2.0, -1.0}, out);
+        calculator.multiply(a, b, out);
+        assertArrayEquals(new double[] {0.75, 0.0, -6.0}, out);
+        calculator.divide(a, b, out);
+        assertEquals(Double.POSITIVE_INFINITY, out[1], "Double division by zero follows IEEE 754");
+    }
+
+    @Test
+    void testReductions(){
+        int[] values = {Integer.MAX_VALUE, Integer.MAX_VALUE, 2};
+        assertEquals(2L * Integer.MAX_VALUE + 2, calculator.sum(values), "Int sums should not overflow");
+        assertEquals(24L, calculator.product(new int[] {1, 2, 3, 4}, Calculator.Overflow.FAIL));
+        assertEquals(6.5, calculator.sum(new double[] {1.5, 2.0, 3.0}));
+        assertEquals(-6.0, calculator.product(new double[] {1.5, -2.0, 2.0}));
+
+        long[] large = {Long.MAX_VALUE, 1, -5};
+        assertEquals(Long.MAX_VALUE - 4, calculator.sum(large, Calculator.Overflow.WRAP), "Wrapped sum goes past MIN_VALUE");
+        assertEquals(Long.MAX_VALUE - 5, calculator.sum(large, Calculator.Overflow.SATURATE));
+        assertThrows(ArithmeticException.class, () -> calculator.sum(large, Calculator.Overflow.FAIL));
+        assertEquals(Long.MIN_VALUE, calculator.product(new long[] {Long.MAX_VALUE, -3}, Calculator.Overflow.SATURATE));
+        assertThrows(ArithmeticException.class,
+            () -> calculator.product(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE}, Calculator.Overflow.FAIL));
+    }
+
+    @Test
+    void testBulkMatchesScalar(){
+        java.util.Random random = new java.util.Random(42);
+        int n = 1003;
+        int[] a = new int[n];
+        int[] b = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt();
+            b[i] = random.nextInt();
+        }
+        int[] out = new int[n];
+        calculator.multiply(a, b, out, Calculator.Overflow.SATURATE);
+        for (int i = 0; i < n; i++) {
+            long exact = (long) a[i] * b[i];
+            assertEquals(Math.clamp(exact, Integer.MIN_VALUE, Integer.MAX_VALUE), out[i]);
+        }
+        calculator.subtract(a, b, out, Calculator.Overflow.SATURATE);
+        for (int i = 0; i < n; i++) {
+            long exact = (long) a[i] - b[i];
+            assertEquals(Math.clamp(exact, Integer.MIN_VALUE, Integer.MAX_VALUE), out[i]);
+        }
+    }
+
+    @Test
+    void testBulkLengthMismatch(){
+        assertThrows(IllegalArgumentException.class, () -> calculator.add(new int[2], new int[3], new int[3]));
+        assertThrows(IllegalArgumentException.class, () -> calculator.add(new int[2], new int[2], new int[1]));
+    }
+
+    @PerfTest(warmup = 2_000, iterations = 20_000, maxP99Micros = 200)
+    void perfBulkAdditionSaturating(){
+        calculator.add(ledgerA, ledgerB, ledgerOut, Calculator.Overflow.SATURATE);
+        assertEquals(0, ledgerOut[0]);
+    }
+
+    @PerfTest(warmup = 2_000, iterations = 20_000, maxP99Micros = 500)
+    void perfBulkDivisionWithZeroDivisors(){
+        int zeros = calculator.divide(ledgerA, ledgerB, ledgerOut, zeroDivisors);
+        assertEquals(4096, zeros, "Every divisor is zero in the untouched ledger");
+    }
 }
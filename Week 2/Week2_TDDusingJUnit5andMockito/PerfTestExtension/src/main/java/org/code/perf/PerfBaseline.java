@@ -0,0 +1,113 @@
+package org.code.perf;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Stored p50/p99 per test, in a properties file in the module directory
+//   org.code.CalculatorTest#perfBulkAdd.p50=1.234
+//   org.code.CalculatorTest#perfBulkAdd.p99=2.345
+// Values are microseconds. Tests without an entry record their result and pass, so the first
+// run creates the baseline. Timings depend on the machine, so each environment keeps its own
+// file (it is ignored by git) and regressions only fail the build with -Dperf.enforce=true.
+// Run with -Dperf.baseline.update=true to replace all entries after an intended change.
+// -Dperf.baseline.file=... picks another file. Changes are written once, when the test run ends.
+final class PerfBaseline implements ExtensionContext.Store.CloseableResource {
+
+    static final String FILE_PROPERTY = "perf.baseline.file";
+    static final String UPDATE_PROPERTY = "perf.baseline.update";
+    static final String ENFORCE_PROPERTY = "perf.enforce";
+    static final String DEFAULT_FILE = "perf-baseline.properties";
+
+    record Entry(double p50Micros, double p99Micros) { }
+
+    private final Path file;
+    private final boolean update;
+    private final boolean enforced;
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private boolean dirty;
+
+    private PerfBaseline(Path file, boolean update, boolean enforced) {
+        this.file = file;
+        this.update = update;
+        this.enforced = enforced;
+    }
+
+    static PerfBaseline load() {
+        return load(Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE)), Boolean.getBoolean(UPDATE_PROPERTY),
+                    Boolean.getBoolean(ENFORCE_PROPERTY));
+    }
+
+    static PerfBaseline load(Path file, boolean update, boolean enforced) {
+        PerfBaseline baseline = new PerfBaseline(file, update, enforced);
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read performance baseline " + file, e);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (name.endsWith(".p50")) {
+                    String key = name.substring(0, name.length() - 4);
+                    String p99 = properties.getProperty(key + ".p99");
+                    if (p99 != null) {
+                        baseline.entries.put(key, new Entry(Double.parseDouble(properties.getProperty(name)),
+                                                            Double.parseDouble(p99)));
+                    }
+                }
+            }
+        }
+        return baseline;
+    }
+
+    // The baseline to compare against, or null when there is none or it is being replaced
+    synchronized Entry get(String key) {
+        return update ? null : entries.get(key);
+    }
+
+    synchronized void record(String key, Entry entry) {
+        entries.put(key, entry);
+        dirty = true;
+    }
+
+    // Whether a regression against the baseline fails the test or is only reported
+    boolean isEnforced() {
+        return enforced;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Written by hand so the file is sorted and has no timestamp, which keeps diffs small
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Performance baseline for @PerfTest, in microseconds\n");
+            writer.write("# Regenerate with: mvn test -Dperf.baseline.update=true\n");
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                writer.write(String.format(Locale.ROOT, "%s.p50=%.3f%n%s.p99=%.3f%n",
+                                           e.getKey(), e.getValue().p50Micros(), e.getKey(), e.getValue().p99Micros()));
+            }
+        }
+        dirty = false;
+    }
+}
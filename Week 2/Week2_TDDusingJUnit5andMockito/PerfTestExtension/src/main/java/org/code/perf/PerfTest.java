@@ -0,0 +1,39 @@
+package org.code.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// A test that is also timed
+// The method runs once as a normal test, then warmup more times unmeasured, then
+// iterations times into a latency histogram. @BeforeEach/@AfterEach run only around the
+// whole series. The test fails when p99 is above maxP99Micros. With -Dperf.enforce=true it
+// also fails when p50 or p99 is more than maxRegression above this machine's baseline (see
+// PerfBaseline), plus noiseFloorMicros; otherwise such a regression is only reported.
+//
+// Usage:
+//   @PerfTest(warmup = 2_000, iterations = 20_000, maxP99Micros = 50)
+//   void bulkAddIsFast() { calculator.add(a, b, out); }
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Test
+@ExtendWith(PerfTestExtension.class)
+public @interface PerfTest {
+
+    int warmup() default 1_000;
+
+    int iterations() default 10_000;
+
+    // Absolute p99 limit in microseconds; 0 means only the baseline is checked
+    long maxP99Micros() default 0;
+
+    // Allowed slowdown against the baseline, 0.5 = 50 % slower
+    double maxRegression() default 0.5;
+
+    // Added to the allowed p50/p99 so that timer noise on very fast methods does not fail the build
+    double noiseFloorMicros() default 5;
+}
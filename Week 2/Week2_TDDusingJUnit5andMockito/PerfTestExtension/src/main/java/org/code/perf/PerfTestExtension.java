@@ -0,0 +1,114 @@
+package org.code.perf;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Runs @PerfTest methods repeatedly and checks their latency percentiles
+// The first invocation goes through JUnit as usual, so assertion failures are reported as
+// for any other test. The remaining warmup and measured invocations call the method
+// directly on the same test instance and arguments.
+public class PerfTestExtension implements InvocationInterceptor {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PerfTestExtension.class);
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        PerfTest perfTest = invocationContext.getExecutable().getAnnotation(PerfTest.class);
+        if (perfTest == null) {
+            invocation.proceed();
+            return;
+        }
+        if (perfTest.iterations() <= 0 || perfTest.warmup() < 0) {
+            throw new IllegalArgumentException("@PerfTest needs iterations > 0 and warmup >= 0");
+        }
+        invocation.proceed();
+
+        Method method = invocationContext.getExecutable();
+        Object target = invocationContext.getTarget().orElse(null);
+        Object[] arguments = invocationContext.getArguments().toArray();
+        method.setAccessible(true);
+
+        for (int i = 1; i < perfTest.warmup(); i++) {
+            call(method, target, arguments);
+        }
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < perfTest.iterations(); i++) {
+            long start = System.nanoTime();
+            call(method, target, arguments);
+            histogram.recordValue(System.nanoTime() - start);
+        }
+
+        String key = method.getDeclaringClass().getName() + "#" + method.getName();
+        PerfBaseline baseline = extensionContext.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(PerfBaseline.class, type -> PerfBaseline.load(), PerfBaseline.class);
+        check(key, perfTest, histogram, baseline, extensionContext);
+    }
+
+    static void check(String key, PerfTest perfTest, Histogram histogram, PerfBaseline baseline,
+                      ExtensionContext extensionContext) {
+        PerfBaseline.Entry measured = new PerfBaseline.Entry(micros(histogram, 50.0), micros(histogram, 99.0));
+        PerfBaseline.Entry stored = baseline.get(key);
+        double max = histogram.getMaxValue() / 1_000.0;
+
+        String summary = String.format(Locale.ROOT, "p50=%.3f us, p99=%.3f us, max=%.3f us over %d runs",
+                                       measured.p50Micros(), measured.p99Micros(), max, histogram.getTotalCount());
+        if (stored != null) {
+            summary += String.format(Locale.ROOT, " (baseline p50=%.3f us, p99=%.3f us)",
+                                     stored.p50Micros(), stored.p99Micros());
+        }
+
+        List<String> problems = new ArrayList<>();
+        if (perfTest.maxP99Micros() > 0 && measured.p99Micros() > perfTest.maxP99Micros()) {
+            problems.add(String.format(Locale.ROOT, "p99 %.3f us is above the limit of %d us",
+                                       measured.p99Micros(), perfTest.maxP99Micros()));
+        }
+        if (stored != null) {
+            List<String> regressions = new ArrayList<>();
+            regression("p50", measured.p50Micros(), stored.p50Micros(), perfTest, regressions);
+            regression("p99", measured.p99Micros(), stored.p99Micros(), perfTest, regressions);
+            if (baseline.isEnforced()) {
+                problems.addAll(regressions);
+            } else if (!regressions.isEmpty()) {
+                summary += " [not enforced: " + String.join("; ", regressions) + "]";
+            }
+        } else if (problems.isEmpty()) {
+            baseline.record(key, measured);
+        }
+        extensionContext.publishReportEntry(Map.of("perf", summary));
+        if (!problems.isEmpty()) {
+            throw new AssertionError("Performance regression in " + key + ": " + String.join("; ", problems)
+                                     + " [" + summary + ", baseline file " + baseline.getFile() + "]");
+        }
+    }
+
+    private static void regression(String percentile, double measured, double stored, PerfTest perfTest,
+                                   List<String> problems) {
+        double allowed = stored * (1 + perfTest.maxRegression()) + perfTest.noiseFloorMicros();
+        if (measured > allowed) {
+            problems.add(String.format(Locale.ROOT, "%s %.3f us is above the allowed %.3f us (baseline %.3f us)",
+                                       percentile, measured, allowed, stored));
+        }
+    }
+
+    private static double micros(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    private static void call(Method method, Object target, Object[] arguments) throws Throwable {
+        try {
+            method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.code.perf;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+public class PerfTestExtensionTest {
+
+    static final AtomicInteger calls = new AtomicInteger();
+
+    @TempDir
+    Path dir;
+    private Path baselineFile;
+
+    @BeforeEach
+    void setUp() {
+        baselineFile = dir.resolve("perf-baseline.properties");
+        System.setProperty(PerfBaseline.FILE_PROPERTY, baselineFile.toString());
+        calls.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(PerfBaseline.FILE_PROPERTY);
+        System.clearProperty(PerfBaseline.UPDATE_PROPERTY);
+        System.clearProperty(PerfBaseline.ENFORCE_PROPERTY);
+    }
+
+    static class FastSample {
+        @PerfTest(warmup = 50, iterations = 200)
+        void fast() {
+            calls.incrementAndGet();
+        }
+    }
+
+    static class SlowSample {
+        @PerfTest(warmup = 1, iterations = 20, maxRegression = 0.5, noiseFloorMicros = 0)
+        void slow() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    static class LimitSample {
+        @PerfTest(warmup = 1, iterations = 10, maxP99Micros = 100)
+        void overLimit() throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    static class FailingSample {
+        @PerfTest
+        void broken() {
+            calls.incrementAndGet();
+            throw new IllegalStateException("broken on first call");
+        }
+    }
+
+    private static Events run(Class<?> testClass) {
+        return EngineTestKit.engine("junit-jupiter").selectors(selectClass(testClass)).execute().testEvents();
+    }
+
+    @Test
+    void testFirstRunRecordsBaseline() throws Exception {
+        Events events = run(FastSample.class);
+
+        events.assertStatistics(stats -> stats.succeeded(1));
+        // One normal call, the rest of the warmup, then the measured iterations
+        assertEquals(50 + 200, calls.get());
+        String stored = Files.readString(baselineFile);
+        assertTrue(stored.contains(FastSample.class.getName() + "#fast.p50="));
+        assertTrue(stored.contains(FastSample.class.getName() + "#fast.p99="));
+    }
+
+    @Test
+    void testRegressionAgainstBaselineFailsWhenEnforced() throws Exception {
+        Files.writeString(baselineFile, SlowSample.class.getName() + "#slow.p50=10.0\n"
+                                        + SlowSample.class.getName() + "#slow.p99=10.0\n");
+        System.setProperty(PerfBaseline.ENFORCE_PROPERTY, "true");
+
+        run(SlowSample.class).assertThatEvents().haveExactly(1,
+            finishedWithFailure(message(m -> m.startsWith("Performance regression in")
+                                             && m.contains("p99") && m.contains("baseline 10.000 us"))));
+    }
+
+    @Test
+    void testRegressionIsOnlyReportedByDefault() throws Exception {
+        Files.writeString(baselineFile, SlowSample.class.getName() + "#slow.p50=10.0\n"
+                                        + SlowSample.class.getName() + "#slow.p99=10.0\n");
+
+        run(SlowSample.class).assertStatistics(stats -> stats.succeeded(1));
+        assertTrue(Files.readString(baselineFile).contains("slow.p99=10.0"), "The baseline is kept");
+    }
+
+    @Test
+    void testUpdateReplacesBaseline() throws Exception {
+        Files.writeString(baselineFile, SlowSample.class.getName() + "#slow.p50=10.0\n"
+                                        + SlowSample.class.getName() + "#slow.p99=10.0\n");
+        System.setProperty(PerfBaseline.UPDATE_PROPERTY, "true");
+
+        run(SlowSample.class).assertStatistics(stats -> stats.succeeded(1));
+        assertFalse(Files.readString(baselineFile).contains("slow.p99=10.000"));
+    }
+
+    @Test
+    void testAbsoluteLimitFails() {
+        run(LimitSample.class).assertThatEvents().haveExactly(1,
+            finishedWithFailure(message(m -> m.contains("above the limit of 100 us"))));
+        assertFalse(Files.exists(baselineFile), "A failing run must not become the baseline");
+    }
+
+    @Test
+    void testFailureOnFirstCallIsReportedWithoutMeasuring() {
+        run(FailingSample.class).assertThatEvents().haveExactly(1,
+            finishedWithFailure(message("broken on first call")));
+        assertEquals(1, calls.get());
+    }
+}